@@ -0,0 +1,53 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.entity.ProfitCalculationRecord;
+import com.example.demo.service.ProfitCalculationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full pass over the active menu on the same seeded H2 data set as ProfitCalculationBenchmark.
+// Stops at 10k items: at 100k the snapshot and catalog refreshes send 100k-element IN lists, which H2 compares
+// against every row, so a single warmup iteration runs for well over ten minutes and measures H2 rather than the service.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActiveMenuProfitBenchmark {
+    
+    @Param({"1000", "10000"})
+    private int menuItemCount;
+    
+    private ConfigurableApplicationContext context;
+    private ProfitCalculationService profitCalculationService;
+    private JdbcTemplate jdbcTemplate;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ProfitCalculationBenchmark.startApplication();
+        profitCalculationService = context.getBean(ProfitCalculationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ProfitCalculationBenchmark.seed(jdbcTemplate, menuItemCount);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    // Keeps the records table from growing across iterations
+    @TearDown(Level.Iteration)
+    public void clearRecords() {
+        jdbcTemplate.update("DELETE FROM profit_calculation_records");
+    }
+    
+    @Benchmark
+    public List<ProfitCalculationRecord> calculateProfitForAllActive() {
+        return profitCalculationService.calculateProfitForAllActive();
+    }
+}
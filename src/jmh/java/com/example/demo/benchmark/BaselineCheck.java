@@ -0,0 +1,109 @@
+package com.example.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Compares a JMH JSON result with the checked-in baseline and exits non-zero when any benchmark
+// is slower than the baseline by more than the threshold (0.20 = 20%), or has no baseline entry at all.
+// Updating replaces the entries the run produced and keeps the rest, so a run filtered with -Djmh.includes
+// refreshes only its own benchmarks.
+// Usage: BaselineCheck <baseline.json> <result.json> <threshold> [updateBaseline]
+public final class BaselineCheck {
+    
+    private BaselineCheck() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Path baselinePath = Path.of(args[0]);
+        Path resultPath = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean updateBaseline = args.length > 3 && Boolean.parseBoolean(args[3]);
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode result = objectMapper.readTree(resultPath.toFile());
+        Map<String, JsonNode> baseline = new TreeMap<>();
+        if (Files.exists(baselinePath)) {
+            objectMapper.readTree(baselinePath.toFile()).forEach(run -> baseline.put(key(run), run));
+        }
+        if (updateBaseline) {
+            result.forEach(run -> baseline.put(key(run), toBaseline(objectMapper, run)));
+            ArrayNode entries = objectMapper.createArrayNode().addAll(baseline.values());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(baselinePath.toFile(), entries);
+            System.out.println("Baseline updated: " + baselinePath);
+            return;
+        }
+        
+        List<String> regressions = new ArrayList<>();
+        Set<String> notRun = new TreeSet<>(baseline.keySet());
+        for (JsonNode run : result) {
+            String key = key(run);
+            notRun.remove(key);
+            JsonNode expected = baseline.get(key);
+            if (expected == null) {
+                System.out.println("MISSING    " + key);
+                regressions.add(key + ": no baseline entry, refresh it with -Djmh.updateBaseline=true");
+                continue;
+            }
+            String unit = run.path("primaryMetric").path("scoreUnit").asText();
+            String expectedUnit = expected.path("primaryMetric").path("scoreUnit").asText();
+            if (!unit.equals(expectedUnit)) {
+                regressions.add(key + ": unit changed from " + expectedUnit + " to " + unit);
+                continue;
+            }
+            double score = run.path("primaryMetric").path("score").asDouble();
+            double expectedScore = expected.path("primaryMetric").path("score").asDouble();
+            // Throughput is better when higher; every other JMH mode reports time per operation
+            double slowdown = "thrpt".equals(run.path("mode").asText())
+                ? (expectedScore - score) / expectedScore
+                : (score - expectedScore) / expectedScore;
+            boolean regressed = slowdown > threshold;
+            System.out.printf("%-10s %s: %.3f %s (baseline %.3f, %+.1f%%)%n",
+                regressed ? "REGRESSED" : "OK", key, score, unit, expectedScore, slowdown * 100);
+            if (regressed) {
+                regressions.add(String.format("%s: %.1f%% slower than baseline", key, slowdown * 100));
+            }
+        }
+        // Filtered runs legitimately skip benchmarks, so these are only reported
+        notRun.forEach(key -> System.out.println("NOT RUN    " + key));
+        
+        if (!regressions.isEmpty()) {
+            System.err.println(regressions.size() + " benchmark(s) failed the baseline check (threshold "
+                + Math.round(threshold * 100) + "%):");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+    }
+    
+    // Keeps only what the comparison needs, so baseline diffs stay readable
+    private static ObjectNode toBaseline(ObjectMapper objectMapper, JsonNode run) {
+        ObjectNode entry = objectMapper.createObjectNode();
+        entry.put("benchmark", run.path("benchmark").asText());
+        entry.put("mode", run.path("mode").asText());
+        if (run.has("params")) {
+            entry.set("params", run.get("params"));
+        }
+        ObjectNode primaryMetric = entry.putObject("primaryMetric");
+        primaryMetric.put("score", run.path("primaryMetric").path("score").asDouble());
+        primaryMetric.put("scoreError", run.path("primaryMetric").path("scoreError").asDouble());
+        primaryMetric.put("scoreUnit", run.path("primaryMetric").path("scoreUnit").asText());
+        return entry;
+    }
+    
+    private static String key(JsonNode run) {
+        Map<String, String> params = new TreeMap<>();
+        run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        return run.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+    }
+}
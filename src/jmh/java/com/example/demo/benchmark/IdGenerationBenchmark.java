@@ -0,0 +1,112 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.repository.IngredientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Insert throughput with IDENTITY keys (one round trip per row) against pooled sequence ids with JDBC batching
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+    
+    private static final String IDENTITY_INSERT_SQL =
+        "INSERT INTO identity_ingredients (name, unit, cost_per_unit, active) VALUES (?, ?, ?, ?)";
+    
+    @Param({"1000", "10000"})
+    private int rowCount;
+    
+    private ConfigurableApplicationContext context;
+    private IngredientRepository ingredientRepository;
+    private JdbcTemplate jdbcTemplate;
+    private long invocation;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments, unlike default properties, take precedence over application.properties
+        context = new SpringApplicationBuilder(DemoApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:id-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN");
+        ingredientRepository = context.getBean(IngredientRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // Same columns as ingredients, but keyed the way every entity was before the switch
+        jdbcTemplate.execute("CREATE TABLE identity_ingredients (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "name VARCHAR(255) NOT NULL UNIQUE, unit VARCHAR(255), cost_per_unit DECIMAL(38, 2) NOT NULL, "
+            + "active BOOLEAN NOT NULL)");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @TearDown(Level.Iteration)
+    public void clearRows() {
+        jdbcTemplate.update("DELETE FROM ingredients");
+        jdbcTemplate.update("DELETE FROM identity_ingredients");
+    }
+    
+    @Benchmark
+    public int identityInserts() {
+        List<Ingredient> ingredients = newIngredients();
+        for (Ingredient ingredient : ingredients) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(IDENTITY_INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, ingredient.getName());
+                ps.setString(2, ingredient.getUnit());
+                ps.setBigDecimal(3, ingredient.getCostPerUnit());
+                ps.setBoolean(4, ingredient.getActive());
+                return ps;
+            }, keyHolder);
+            ingredient.setId(keyHolder.getKey().longValue());
+        }
+        return ingredients.size();
+    }
+    
+    @Benchmark
+    public int pooledBatchInserts() {
+        List<Ingredient> ingredients = newIngredients();
+        ingredientRepository.batchInsert(ingredients);
+        return ingredients.size();
+    }
+    
+    private List<Ingredient> newIngredients() {
+        long prefix = invocation++;
+        List<Ingredient> ingredients = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName("Ingredient " + prefix + "-" + i);
+            ingredient.setUnit("kg");
+            ingredient.setCostPerUnit(BigDecimal.valueOf(100 + i % 1000, 2));
+            ingredient.setActive(true);
+            ingredients.add(ingredient);
+        }
+        return ingredients;
+    }
+}
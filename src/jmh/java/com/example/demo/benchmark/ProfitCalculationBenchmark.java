@@ -0,0 +1,113 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.ProfitCalculationRecord;
+import com.example.demo.service.ProfitCalculationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end calculation against an in-memory H2 database seeded with a fixed data set
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfitCalculationBenchmark {
+    
+    private static final int INGREDIENT_COUNT = 200;
+    private static final int RECIPE_SIZE = 5;
+    private static final int SEED_BATCH_SIZE = 1000;
+    
+    @Param({"1000", "10000", "100000"})
+    private int menuItemCount;
+    
+    private ConfigurableApplicationContext context;
+    private ProfitCalculationService profitCalculationService;
+    private JdbcTemplate jdbcTemplate;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = startApplication();
+        profitCalculationService = context.getBean(ProfitCalculationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate, menuItemCount);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    // Keeps the records table from growing across iterations
+    @TearDown(Level.Iteration)
+    public void clearRecords() {
+        jdbcTemplate.update("DELETE FROM profit_calculation_records");
+    }
+    
+    @Benchmark
+    public ProfitCalculationRecord calculateProfit() {
+        long menuItemId = ThreadLocalRandom.current().nextLong(1, menuItemCount + 1);
+        return profitCalculationService.calculateProfit(menuItemId);
+    }
+    
+    static ConfigurableApplicationContext startApplication() {
+        // Command-line arguments, unlike default properties, take precedence over application.properties
+        return new SpringApplicationBuilder(DemoApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN");
+    }
+    
+    static void seed(JdbcTemplate jdbcTemplate, int menuItemCount) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        List<Object[]> ingredients = new ArrayList<>(INGREDIENT_COUNT);
+        for (long id = 1; id <= INGREDIENT_COUNT; id++) {
+            ingredients.add(new Object[] {id, "Ingredient " + id, "kg",
+                BigDecimal.valueOf(100 + random.nextInt(10_000), 2), true, false, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ingredients (id, name, unit, cost_per_unit, active, prep, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", ingredients);
+        
+        List<Object[]> menuItems = new ArrayList<>(SEED_BATCH_SIZE);
+        List<Object[]> recipeLines = new ArrayList<>(SEED_BATCH_SIZE * RECIPE_SIZE);
+        long recipeLineId = 1;
+        for (long id = 1; id <= menuItemCount; id++) {
+            menuItems.add(new Object[] {id, "Menu item " + id, null,
+                BigDecimal.valueOf(2_000 + random.nextInt(50_000), 2), true, now, now});
+            for (int i = 0; i < RECIPE_SIZE; i++) {
+                long ingredientId = 1 + random.nextInt(INGREDIENT_COUNT);
+                recipeLines.add(new Object[] {recipeLineId++, id, ingredientId, 0.05 + random.nextInt(100) / 100.0});
+            }
+            if (menuItems.size() == SEED_BATCH_SIZE || id == menuItemCount) {
+                jdbcTemplate.batchUpdate("INSERT INTO menu_items (id, name, description, selling_price, active, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", menuItems);
+                jdbcTemplate.batchUpdate("INSERT INTO recipe_ingredients (id, menu_item_id, ingredient_id, quantity) "
+                    + "VALUES (?, ?, ?, ?)", recipeLines);
+                menuItems.clear();
+                recipeLines.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.repository.projection.RecipeCostLine;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Pure arithmetic of calculateProfit, without the database round trips
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CostAggregationBenchmark {
+    
+    @Param({"5", "50", "500"})
+    private int recipeSize;
+    
+    private List<RecipeCostLine> costLines;
+    private BigDecimal sellingPrice;
+    private BigDecimal totalCost;
+    
+    @Setup
+    public void setUp() {
+        // Fixed seed so every run aggregates the same values
+        Random random = new Random(42);
+        costLines = new ArrayList<>(recipeSize);
+        for (int i = 0; i < recipeSize; i++) {
+            BigDecimal costPerUnit = BigDecimal.valueOf(random.nextInt(100_000), 4);
+            double quantity = Math.round(random.nextDouble() * 1000) / 100.0;
+            costLines.add(new Line(1L, (long) i, costPerUnit, quantity));
+        }
+        totalCost = aggregate();
+        sellingPrice = totalCost.multiply(BigDecimal.valueOf(3));
+    }
+    
+    @Benchmark
+    public BigDecimal aggregateRecipeCost() {
+        return aggregate();
+    }
+    
+    // Same total through the scaled-long kernel used by the services
+    @Benchmark
+    public BigDecimal aggregateRecipeCostFixedPoint() {
+        CostKernel.Accumulator total = new CostKernel.Accumulator();
+        for (RecipeCostLine line : costLines) {
+            total.add(line.getCostPerUnit(), line.getQuantity());
+        }
+        return total.total();
+    }
+    
+    @Benchmark
+    public Map<Long, BigDecimal> aggregateByMenuItem() {
+        Map<Long, BigDecimal> totalCosts = new HashMap<>();
+        for (RecipeCostLine line : costLines) {
+            BigDecimal lineCost = line.getCostPerUnit().multiply(BigDecimal.valueOf(line.getQuantity()));
+            totalCosts.merge(line.getMenuItemId(), lineCost, BigDecimal::add);
+        }
+        return totalCosts;
+    }
+    
+    @Benchmark
+    public Double profitMargin() {
+        return ProfitCalculationServiceImpl.calculateProfitMargin(sellingPrice, totalCost);
+    }
+    
+    private BigDecimal aggregate() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (RecipeCostLine line : costLines) {
+            total = total.add(line.getCostPerUnit().multiply(BigDecimal.valueOf(line.getQuantity())));
+        }
+        return total;
+    }
+    
+    private record Line(Long menuItemId, Long ingredientId, BigDecimal costPerUnit, Double quantity)
+            implements RecipeCostLine {
+        public Long getMenuItemId() { return menuItemId; }
+        public Long getIngredientId() { return ingredientId; }
+        public BigDecimal getCostPerUnit() { return costPerUnit; }
+        public Double getQuantity() { return quantity; }
+    }
+}
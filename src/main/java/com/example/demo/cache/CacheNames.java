@@ -0,0 +1,20 @@
+package com.example.demo.cache;
+
+import java.util.List;
+
+public final class CacheNames {
+    
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORIES_BY_NAME = "categoriesByName";
+    public static final String INGREDIENTS = "ingredients";
+    public static final String INGREDIENTS_BY_NAME = "ingredientsByName";
+    public static final String MENU_ITEMS = "menuItems";
+    public static final String MENU_ITEMS_BY_NAME = "menuItemsByName";
+    public static final String MENU_ANALYTICS = "menuAnalytics";
+    
+    public static final List<String> ENTITY_CACHES = List.of(
+        CATEGORIES, CATEGORIES_BY_NAME, INGREDIENTS, INGREDIENTS_BY_NAME, MENU_ITEMS, MENU_ITEMS_BY_NAME);
+    
+    private CacheNames() {
+    }
+}
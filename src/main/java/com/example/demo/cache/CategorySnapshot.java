@@ -0,0 +1,35 @@
+package com.example.demo.cache;
+
+import com.example.demo.entity.Category;
+import java.time.LocalDateTime;
+
+// Immutable cached copy of a category; callers get a fresh entity from toEntity() rather than a shared instance
+public final class CategorySnapshot {
+    
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean active;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    
+    public CategorySnapshot(Category category) {
+        this.id = category.getId();
+        this.name = category.getName();
+        this.description = category.getDescription();
+        this.active = category.getActive();
+        this.createdAt = category.getCreatedAt();
+        this.updatedAt = category.getUpdatedAt();
+    }
+    
+    public Category toEntity() {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setDescription(description);
+        category.setActive(active);
+        category.setCreatedAt(createdAt);
+        category.setUpdatedAt(updatedAt);
+        return category;
+    }
+}
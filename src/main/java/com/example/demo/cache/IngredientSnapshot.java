@@ -0,0 +1,45 @@
+package com.example.demo.cache;
+
+import com.example.demo.entity.Ingredient;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Immutable cached copy of an ingredient; callers get a fresh entity from toEntity() rather than a shared instance
+public final class IngredientSnapshot {
+    
+    private final Long id;
+    private final String name;
+    private final String unit;
+    private final BigDecimal costPerUnit;
+    private final Boolean active;
+    private final Boolean prep;
+    private final Double yieldQuantity;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    
+    public IngredientSnapshot(Ingredient ingredient) {
+        this.id = ingredient.getId();
+        this.name = ingredient.getName();
+        this.unit = ingredient.getUnit();
+        this.costPerUnit = ingredient.getCostPerUnit();
+        this.active = ingredient.getActive();
+        this.prep = ingredient.getPrep();
+        this.yieldQuantity = ingredient.getYieldQuantity();
+        this.createdAt = ingredient.getCreatedAt();
+        this.updatedAt = ingredient.getUpdatedAt();
+    }
+    
+    public Ingredient toEntity() {
+        Ingredient ingredient = new Ingredient();
+        ingredient.setId(id);
+        ingredient.setName(name);
+        ingredient.setUnit(unit);
+        ingredient.setCostPerUnit(costPerUnit);
+        ingredient.setActive(active);
+        ingredient.setPrep(prep);
+        ingredient.setYieldQuantity(yieldQuantity);
+        ingredient.setCreatedAt(createdAt);
+        ingredient.setUpdatedAt(updatedAt);
+        return ingredient;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.cache;
+
+import com.example.demo.entity.MenuItem;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+// Immutable cached copy of a menu item and its categories; toEntity() builds a fresh, unshared entity graph
+public final class MenuItemSnapshot {
+    
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal sellingPrice;
+    private final Boolean active;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final List<CategorySnapshot> categories;
+    
+    public MenuItemSnapshot(MenuItem menuItem) {
+        this.id = menuItem.getId();
+        this.name = menuItem.getName();
+        this.description = menuItem.getDescription();
+        this.sellingPrice = menuItem.getSellingPrice();
+        this.active = menuItem.getActive();
+        this.createdAt = menuItem.getCreatedAt();
+        this.updatedAt = menuItem.getUpdatedAt();
+        this.categories = menuItem.getCategories().stream().map(CategorySnapshot::new).toList();
+    }
+    
+    public MenuItem toEntity() {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setName(name);
+        menuItem.setDescription(description);
+        menuItem.setSellingPrice(sellingPrice);
+        menuItem.setActive(active);
+        menuItem.setCreatedAt(createdAt);
+        menuItem.setUpdatedAt(updatedAt);
+        menuItem.setCategories(new HashSet<>(categories.stream().map(CategorySnapshot::toEntity).toList()));
+        return menuItem;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.cache;
+
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.MenuItem;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.IngredientRepository;
+import com.example.demo.repository.MenuItemRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+// Cached reads of the reference entities for read-only paths. Only immutable snapshots and ids are cached;
+// write paths load managed entities from the repositories instead. Misses are not cached.
+@Component
+public class ReferenceDataLookup {
+    
+    private final CategoryRepository categoryRepository;
+    private final IngredientRepository ingredientRepository;
+    private final MenuItemRepository menuItemRepository;
+    
+    public ReferenceDataLookup(CategoryRepository categoryRepository,
+                               IngredientRepository ingredientRepository,
+                               MenuItemRepository menuItemRepository) {
+        this.categoryRepository = categoryRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.menuItemRepository = menuItemRepository;
+    }
+    
+    @Cacheable(cacheNames = CacheNames.CATEGORIES, unless = "#result == null")
+    public CategorySnapshot findCategory(Long id) {
+        return categoryRepository.findById(id).map(CategorySnapshot::new).orElse(null);
+    }
+    
+    @Cacheable(cacheNames = CacheNames.CATEGORIES_BY_NAME, key = "#name.toLowerCase()", condition = "#name != null", unless = "#result == null")
+    public Long findCategoryIdByName(String name) {
+        return categoryRepository.findByNameIgnoreCase(name).map(Category::getId).orElse(null);
+    }
+    
+    @Cacheable(cacheNames = CacheNames.INGREDIENTS, unless = "#result == null")
+    public IngredientSnapshot findIngredient(Long id) {
+        return ingredientRepository.findById(id).map(IngredientSnapshot::new).orElse(null);
+    }
+    
+    @Cacheable(cacheNames = CacheNames.INGREDIENTS_BY_NAME, key = "#name.toLowerCase()", condition = "#name != null", unless = "#result == null")
+    public Long findIngredientIdByName(String name) {
+        return ingredientRepository.findByNameIgnoreCase(name).map(Ingredient::getId).orElse(null);
+    }
+    
+    @Cacheable(cacheNames = CacheNames.MENU_ITEMS, unless = "#result == null")
+    public MenuItemSnapshot findMenuItem(Long id) {
+        return menuItemRepository.findById(id).map(MenuItemSnapshot::new).orElse(null);
+    }
+    
+    @Cacheable(cacheNames = CacheNames.MENU_ITEMS_BY_NAME, key = "#name.toLowerCase()", condition = "#name != null", unless = "#result == null")
+    public Long findMenuItemIdByName(String name) {
+        return menuItemRepository.findByNameIgnoreCase(name).map(MenuItem::getId).orElse(null);
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.demo.catalog;
+
+import com.example.demo.dto.MenuCatalogCategory;
+import com.example.demo.dto.MenuCatalogIngredient;
+import com.example.demo.dto.MenuCatalogItem;
+import com.example.demo.entity.Category;
+import com.example.demo.entity.MenuItem;
+import com.example.demo.entity.MenuItemCost;
+import com.example.demo.repository.MenuItemCostRepository;
+import com.example.demo.repository.MenuItemRepository;
+import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.repository.projection.CatalogIngredientLine;
+import com.example.demo.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory copy of the active menu: items with their active categories, recipe ingredients and current cost.
+// Items are spread over shards, each holding an immutable map that writers replace under the shard's lock, so readers
+// never block and only see whole snapshots. Writes reload just the affected items once their transaction commits.
+@Component
+public class MenuCatalog {
+    
+    private static final Logger log = LoggerFactory.getLogger(MenuCatalog.class);
+    
+    private final MenuItemRepository menuItemRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final MenuItemCostRepository menuItemCostRepository;
+    private final Shard[] shards;
+    
+    // Bumped after every published change; the merged listing is rebuilt once per version
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Listing> listing = new AtomicReference<>(new Listing(-1, List.of()));
+    private volatile boolean loaded;
+    
+    public MenuCatalog(MenuItemRepository menuItemRepository,
+                       RecipeIngredientRepository recipeIngredientRepository,
+                       MenuItemCostRepository menuItemCostRepository,
+                       @Value("${app.catalog.shards:16}") int shardCount) {
+        this.menuItemRepository = menuItemRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.menuItemCostRepository = menuItemCostRepository;
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+    }
+    
+    // A failed load leaves the catalog unloaded, so the first read tries again
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            log.warn("Could not load the menu catalog: {}", e.getMessage());
+        }
+    }
+    
+    // Other nodes only refresh their own copy after a write, so every node also reloads in full on a fixed delay.
+    // A full reload rather than a change probe: categories, recipe lines and costs carry no common version column.
+    // A failed reload keeps serving the last snapshot.
+    @Scheduled(fixedDelayString = "${app.catalog.reload-ms:60000}", initialDelayString = "${app.catalog.reload-ms:60000}")
+    public void reloadPeriodically() {
+        try {
+            reloadAll();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the menu catalog: {}", e.getMessage());
+        }
+    }
+    
+    public List<MenuCatalogItem> getItems() {
+        ensureLoaded();
+        Listing current = listing.get();
+        long currentVersion = version.get();
+        if (current.version() == currentVersion) {
+            return current.items();
+        }
+        
+        List<MenuCatalogItem> items = new ArrayList<>();
+        for (Shard shard : shards) {
+            items.addAll(shard.items.values());
+        }
+        items.sort(Comparator.comparing(MenuCatalogItem::getId));
+        List<MenuCatalogItem> view = Collections.unmodifiableList(items);
+        // A reader that raced a newer write never replaces that write's listing
+        Listing built = new Listing(currentVersion, view);
+        listing.accumulateAndGet(built, (existing, candidate) -> candidate.version() > existing.version() ? candidate : existing);
+        return view;
+    }
+    
+    public boolean contains(Long menuItemId) {
+        ensureLoaded();
+        return shards[shardIndex(menuItemId)].items.containsKey(menuItemId);
+    }
+    
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.items.size();
+        }
+        return size;
+    }
+    
+    public void refresh(Collection<Long> menuItemIds) {
+        Set<Long> ids = new HashSet<>(menuItemIds);
+        afterCommit(() -> reload(ids));
+    }
+    
+    public void refreshAll() {
+        afterCommit(this::reloadAll);
+    }
+    
+    // Items are matched against the catalog as it is when the change commits
+    public void refreshIngredient(Long ingredientId) {
+        afterCommit(() -> {
+            Set<Long> ids = new HashSet<>();
+            for (Shard shard : shards) {
+                shard.items.values().forEach(item -> item.getIngredients().stream()
+                    .filter(line -> line.getIngredientId().equals(ingredientId))
+                    .findAny()
+                    .ifPresent(line -> ids.add(item.getId())));
+            }
+            reload(ids);
+        });
+    }
+    
+    // A failed reload drops the loaded flag so the next read rebuilds everything instead of serving a stale item.
+    // Any failure is swallowed: the write has already committed and must not be reported as failed.
+    private void afterCommit(Runnable reload) {
+        Runnable guarded = () -> {
+            try {
+                reload.run();
+            } catch (RuntimeException e) {
+                loaded = false;
+                log.warn("Could not refresh the menu catalog: {}", e.getMessage());
+            }
+        };
+        AfterCommit.run(guarded);
+    }
+    
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reloadAll();
+                }
+            }
+        }
+    }
+    
+    private void reloadAll() {
+        BitSet all = new BitSet(shards.length);
+        all.set(0, shards.length);
+        // Locks are held across the load so a reload always publishes data at least as new as the one before it
+        lock(all);
+        try {
+            Map<Long, MenuItemCost> costs = new HashMap<>();
+            menuItemCostRepository.findAll().forEach(cost -> costs.put(cost.getMenuItemId(), cost));
+            Map<Long, MenuCatalogItem> items = build(menuItemRepository.findAllActiveWithCategories(),
+                recipeIngredientRepository.findCatalogLinesForActiveMenuItems(), costs);
+            
+            List<Map<Long, MenuCatalogItem>> partitions = new ArrayList<>(shards.length);
+            for (int i = 0; i < shards.length; i++) {
+                partitions.add(new HashMap<>());
+            }
+            items.forEach((id, item) -> partitions.get(shardIndex(id)).put(id, item));
+            for (int i = 0; i < shards.length; i++) {
+                shards[i].items = Map.copyOf(partitions.get(i));
+            }
+            loaded = true;
+            version.incrementAndGet();
+        } finally {
+            unlock(all);
+        }
+    }
+    
+    private void reload(Set<Long> menuItemIds) {
+        if (menuItemIds.isEmpty()) {
+            return;
+        }
+        BitSet touched = new BitSet(shards.length);
+        menuItemIds.forEach(id -> touched.set(shardIndex(id)));
+        lock(touched);
+        try {
+            Map<Long, MenuItemCost> costs = new HashMap<>();
+            menuItemCostRepository.findAllById(menuItemIds).forEach(cost -> costs.put(cost.getMenuItemId(), cost));
+            Map<Long, MenuCatalogItem> items = build(menuItemRepository.findAllActiveWithCategoriesByIdIn(menuItemIds),
+                recipeIngredientRepository.findCatalogLinesByMenuItemIds(menuItemIds), costs);
+            
+            // Copy-on-write: each touched shard gets a new map; ids no longer active are dropped
+            for (int i = touched.nextSetBit(0); i >= 0; i = touched.nextSetBit(i + 1)) {
+                Map<Long, MenuCatalogItem> copy = new HashMap<>(shards[i].items);
+                for (Long id : menuItemIds) {
+                    if (shardIndex(id) != i) {
+                        continue;
+                    }
+                    MenuCatalogItem item = items.get(id);
+                    if (item != null) {
+                        copy.put(id, item);
+                    } else {
+                        copy.remove(id);
+                    }
+                }
+                shards[i].items = Map.copyOf(copy);
+            }
+            version.incrementAndGet();
+        } finally {
+            unlock(touched);
+        }
+    }
+    
+    private static Map<Long, MenuCatalogItem> build(List<MenuItem> menuItems, List<CatalogIngredientLine> lines,
+                                                    Map<Long, MenuItemCost> costs) {
+        Map<Long, List<MenuCatalogIngredient>> ingredients = new HashMap<>();
+        for (CatalogIngredientLine line : lines) {
+            ingredients.computeIfAbsent(line.getMenuItemId(), id -> new ArrayList<>())
+                .add(new MenuCatalogIngredient(line.getIngredientId(), line.getName(), line.getUnit(), line.getQuantity()));
+        }
+        
+        Map<Long, MenuCatalogItem> items = new HashMap<>(menuItems.size() * 2);
+        for (MenuItem menuItem : menuItems) {
+            List<MenuCatalogCategory> categories = menuItem.getCategories().stream()
+                .filter(Category::getActive)
+                .sorted(Comparator.comparing(Category::getId))
+                .map(category -> new MenuCatalogCategory(category.getId(), category.getName()))
+                .toList();
+            MenuItemCost cost = costs.get(menuItem.getId());
+            items.put(menuItem.getId(), new MenuCatalogItem(menuItem.getId(), menuItem.getName(), menuItem.getDescription(),
+                menuItem.getSellingPrice(), cost != null ? cost.getTotalCost() : null, cost != null ? cost.getProfitMargin() : null,
+                categories, ingredients.getOrDefault(menuItem.getId(), List.of())));
+        }
+        return items;
+    }
+    
+    private int shardIndex(Long menuItemId) {
+        return Math.floorMod(Long.hashCode(menuItemId), shards.length);
+    }
+    
+    // Always in ascending shard order, so concurrent reloads cannot deadlock
+    private void lock(BitSet shardIndexes) {
+        for (int i = shardIndexes.nextSetBit(0); i >= 0; i = shardIndexes.nextSetBit(i + 1)) {
+            shards[i].lock.lock();
+        }
+    }
+    
+    private void unlock(BitSet shardIndexes) {
+        for (int i = shardIndexes.nextSetBit(0); i >= 0; i = shardIndexes.nextSetBit(i + 1)) {
+            shards[i].lock.unlock();
+        }
+    }
+    
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Map<Long, MenuCatalogItem> items = Map.of();
+    }
+    
+    private record Listing(long version, List<MenuCatalogItem> items) {
+    }
+}
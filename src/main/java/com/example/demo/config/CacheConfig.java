@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import com.example.demo.cache.CacheNames;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import java.time.Duration;
+
+// Caching wraps the transaction interceptor, so evictions run after the write has committed
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.maximum-size:10000}") int maximumSize,
+                                     @Value("${app.cache.ttl:10m}") Duration ttl,
+                                     @Value("${app.analytics.cache-ttl:5m}") Duration analyticsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats());
+        // Analytics are recomputed from the cost snapshot at most once per TTL
+        cacheManager.registerCustomCache(CacheNames.MENU_ANALYTICS, Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(analyticsTtl)
+            .recordStats()
+            .build());
+        // Fixed set of caches; a typo in a cache name fails instead of silently creating a new cache
+        cacheManager.setCacheNames(CacheNames.ENTITY_CACHES);
+        return cacheManager;
+    }
+}
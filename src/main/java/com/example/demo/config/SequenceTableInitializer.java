@@ -0,0 +1,50 @@
+package com.example.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+// MySQL has no sequences, so Hibernate emulates them with <table>_seq tables that start at 1.
+// Tables that already held IDENTITY rows get their sequence moved past the highest existing id.
+@Component
+public class SequenceTableInitializer {
+    
+    // Must match the allocationSize of the entity @SequenceGenerator mappings
+    private static final int ALLOCATION_SIZE = 50;
+    
+    private static final Map<String, String> SEQUENCE_TABLES = Map.of(
+        "categories_seq", "categories",
+        "ingredients_seq", "ingredients",
+        "menu_items_seq", "menu_items",
+        "recipe_ingredients_seq", "recipe_ingredients",
+        "profit_calculation_records_seq", "profit_calculation_records",
+        "users_seq", "users",
+        "profit_calculation_daily_rollups_seq", "profit_calculation_daily_rollups",
+        "prep_components_seq", "prep_components"
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    // Depends on the EntityManagerFactory so the schema update has already created the tables
+    public SequenceTableInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @PostConstruct
+    public void alignSequenceTables() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+            DatabaseMetaData::getDatabaseProductName);
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        // The pooled optimizer hands out ids from next_val - ALLOCATION_SIZE + 1 onwards
+        SEQUENCE_TABLES.forEach((sequenceTable, entityTable) -> jdbcTemplate.update(
+            "UPDATE " + sequenceTable + " SET next_val = GREATEST(next_val, "
+                + "(SELECT COALESCE(MAX(id), 0) FROM " + entityTable + ") + " + (ALLOCATION_SIZE + 1) + ")"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+    
+    private final CacheManager cacheManager;
+    
+    public CacheStatsController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeine) {
+                CacheStats cacheStats = caffeine.getNativeCache().stats();
+                stats.add(new CacheStatsResponse(name, caffeine.getNativeCache().estimatedSize(), cacheStats.hitCount(),
+                    cacheStats.missCount(), cacheStats.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
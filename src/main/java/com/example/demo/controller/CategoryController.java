@@ -2,9 +2,11 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Category;
 import com.example.demo.service.CategoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -12,9 +14,11 @@ import java.util.List;
 public class CategoryController {
     
     private final CategoryService categoryService;
+    private final ObjectMapper objectMapper;
     
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ObjectMapper objectMapper) {
         this.categoryService = categoryService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
@@ -29,6 +33,19 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
     
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<Category>> getCategoriesAfter(@RequestParam(defaultValue = "0") Long after,
+                                                             @RequestParam int limit) {
+        List<Category> categories = categoryService.getCategoriesAfter(after, ListingSupport.clampLimit(limit));
+        return ResponseEntity.ok(categories);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportCategories() {
+        StreamingResponseBody body = out -> categoryService.streamAllCategories(ListingSupport.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(ListingSupport.APPLICATION_NDJSON).body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
         Category category = categoryService.getCategoryById(id);
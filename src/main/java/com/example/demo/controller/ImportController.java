@@ -0,0 +1,59 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ImportFormat;
+import com.example.demo.dto.ImportResult;
+import com.example.demo.service.BulkImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+    
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    
+    private final BulkImportService bulkImportService;
+    
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+    
+    @PostMapping(value = "/ingredients", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<ImportResult> importIngredients(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          InputStream body) {
+        ImportResult result = bulkImportService.importIngredients(reader(body), format(contentType));
+        return ResponseEntity.ok(result);
+    }
+    
+    @PostMapping(value = "/menu-items", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<ImportResult> importMenuItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) {
+        ImportResult result = bulkImportService.importMenuItems(reader(body), format(contentType));
+        return ResponseEntity.ok(result);
+    }
+    
+    @PostMapping(value = "/recipe-ingredients", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<ImportResult> importRecipeIngredients(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                InputStream body) {
+        ImportResult result = bulkImportService.importRecipeIngredients(reader(body), format(contentType));
+        return ResponseEntity.ok(result);
+    }
+    
+    // The request body is read line by line straight from the socket, never buffered whole
+    private Reader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+    
+    private ImportFormat format(String contentType) {
+        return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+            ? ImportFormat.CSV : ImportFormat.NDJSON;
+    }
+}
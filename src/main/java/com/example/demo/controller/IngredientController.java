@@ -2,9 +2,11 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Ingredient;
 import com.example.demo.service.IngredientService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -12,9 +14,11 @@ import java.util.List;
 public class IngredientController {
     
     private final IngredientService ingredientService;
+    private final ObjectMapper objectMapper;
     
-    public IngredientController(IngredientService ingredientService) {
+    public IngredientController(IngredientService ingredientService, ObjectMapper objectMapper) {
         this.ingredientService = ingredientService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
@@ -29,6 +33,19 @@ public class IngredientController {
         return ResponseEntity.ok(ingredients);
     }
     
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<Ingredient>> getIngredientsAfter(@RequestParam(defaultValue = "0") Long after,
+                                                                @RequestParam int limit) {
+        List<Ingredient> ingredients = ingredientService.getIngredientsAfter(after, ListingSupport.clampLimit(limit));
+        return ResponseEntity.ok(ingredients);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportIngredients() {
+        StreamingResponseBody body = out -> ingredientService.streamAllIngredients(ListingSupport.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(ListingSupport.APPLICATION_NDJSON).body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Ingredient> getIngredientById(@PathVariable Long id) {
         Ingredient ingredient = ingredientService.getIngredientById(id);
@@ -0,0 +1,22 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.MenuAnalyticsResponse;
+import com.example.demo.service.MenuAnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class MenuAnalyticsController {
+    
+    private final MenuAnalyticsService menuAnalyticsService;
+    
+    public MenuAnalyticsController(MenuAnalyticsService menuAnalyticsService) {
+        this.menuAnalyticsService = menuAnalyticsService;
+    }
+    
+    @GetMapping("/menu")
+    public ResponseEntity<MenuAnalyticsResponse> getMenuAnalytics(@RequestParam(defaultValue = "10") int lowestMarginLimit) {
+        return ResponseEntity.ok(menuAnalyticsService.getMenuAnalytics(lowestMarginLimit));
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.MenuCatalogItem;
 import com.example.demo.entity.MenuItem;
 import com.example.demo.service.MenuItemService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -12,9 +15,11 @@ import java.util.List;
 public class MenuItemController {
     
     private final MenuItemService menuItemService;
+    private final ObjectMapper objectMapper;
     
-    public MenuItemController(MenuItemService menuItemService) {
+    public MenuItemController(MenuItemService menuItemService, ObjectMapper objectMapper) {
         this.menuItemService = menuItemService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
@@ -23,12 +28,32 @@ public class MenuItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
+    // Customer-facing menu: active items served from the in-memory catalog
     @GetMapping
+    public ResponseEntity<List<MenuCatalogItem>> getMenuCatalog() {
+        return ResponseEntity.ok(menuItemService.getMenuCatalog());
+    }
+    
+    // A limit selects the keyset page, which lists inactive items as well
+    @GetMapping(params = {"includeInactive=true", "!limit"})
     public ResponseEntity<List<MenuItem>> getAllMenuItems() {
         List<MenuItem> menuItems = menuItemService.getAllMenuItems();
         return ResponseEntity.ok(menuItems);
     }
     
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<MenuItem>> getMenuItemsAfter(@RequestParam(defaultValue = "0") Long after,
+                                                            @RequestParam int limit) {
+        List<MenuItem> menuItems = menuItemService.getMenuItemsAfter(after, ListingSupport.clampLimit(limit));
+        return ResponseEntity.ok(menuItems);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportMenuItems() {
+        StreamingResponseBody body = out -> menuItemService.streamAllMenuItems(ListingSupport.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(ListingSupport.APPLICATION_NDJSON).body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
         MenuItem menuItem = menuItemService.getMenuItemById(id);
@@ -0,0 +1,30 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.MenuItemCost;
+import com.example.demo.service.MenuItemCostService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/menu-item-costs")
+public class MenuItemCostController {
+    
+    private final MenuItemCostService menuItemCostService;
+    
+    public MenuItemCostController(MenuItemCostService menuItemCostService) {
+        this.menuItemCostService = menuItemCostService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<MenuItemCost>> getAllCurrentCosts() {
+        List<MenuItemCost> costs = menuItemCostService.getAllCurrentCosts();
+        return ResponseEntity.ok(costs);
+    }
+    
+    @GetMapping("/{menuItemId}")
+    public ResponseEntity<MenuItemCost> getCurrentCost(@PathVariable Long menuItemId) {
+        MenuItemCost cost = menuItemCostService.getCurrentCost(menuItemId);
+        return ResponseEntity.ok(cost);
+    }
+}
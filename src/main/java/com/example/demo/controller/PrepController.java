@@ -0,0 +1,63 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.PrepComponent;
+import com.example.demo.service.PrepService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/preps")
+public class PrepController {
+    
+    private final PrepService prepService;
+    
+    public PrepController(PrepService prepService) {
+        this.prepService = prepService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<Ingredient> createPrep(@RequestBody Ingredient prep) {
+        Ingredient created = prepService.createPrep(prep);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<Ingredient>> getAllPreps() {
+        return ResponseEntity.ok(prepService.getAllPreps());
+    }
+    
+    @PutMapping("/{id}/yield")
+    public ResponseEntity<Ingredient> updateYield(@PathVariable Long id, @RequestParam Double yieldQuantity) {
+        return ResponseEntity.ok(prepService.updateYield(id, yieldQuantity));
+    }
+    
+    @GetMapping("/{id}/components")
+    public ResponseEntity<List<PrepComponent>> getComponents(@PathVariable Long id) {
+        return ResponseEntity.ok(prepService.getComponents(id));
+    }
+    
+    @PostMapping("/{id}/components")
+    public ResponseEntity<PrepComponent> addComponent(@PathVariable Long id, @RequestBody PrepComponent component) {
+        PrepComponent created = prepService.addComponent(id, component);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+    
+    @PutMapping("/components/{componentId}")
+    public ResponseEntity<PrepComponent> updateComponent(@PathVariable Long componentId, @RequestParam Double quantity) {
+        return ResponseEntity.ok(prepService.updateComponent(componentId, quantity));
+    }
+    
+    @DeleteMapping("/components/{componentId}")
+    public ResponseEntity<Void> removeComponent(@PathVariable Long componentId) {
+        prepService.removeComponent(componentId);
+        return ResponseEntity.ok().build();
+    }
+    
+    @PostMapping("/recalculate")
+    public ResponseEntity<Integer> recalculateAll() {
+        return ResponseEntity.ok(prepService.recalculateAll());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.PriceOptimizationRequest;
+import com.example.demo.dto.PriceOptimizationResponse;
+import com.example.demo.service.PriceOptimizationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/pricing")
+public class PriceOptimizationController {
+    
+    private final PriceOptimizationService priceOptimizationService;
+    
+    public PriceOptimizationController(PriceOptimizationService priceOptimizationService) {
+        this.priceOptimizationService = priceOptimizationService;
+    }
+    
+    @PostMapping("/optimize")
+    public ResponseEntity<PriceOptimizationResponse> optimize(@RequestBody PriceOptimizationRequest request) {
+        return ResponseEntity.ok(priceOptimizationService.optimize(request));
+    }
+}
@@ -1,19 +1,31 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BatchCalculationRequest;
+import com.example.demo.dto.BatchCalculationResponse;
+import com.example.demo.dto.WriteBehindStatsResponse;
 import com.example.demo.entity.ProfitCalculationRecord;
 import com.example.demo.service.ProfitCalculationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/profit")
 public class ProfitCalculationController {
     
     private final ProfitCalculationService profitCalculationService;
+    private final ObjectMapper objectMapper;
     
-    public ProfitCalculationController(ProfitCalculationService profitCalculationService) {
+    public ProfitCalculationController(ProfitCalculationService profitCalculationService, ObjectMapper objectMapper) {
         this.profitCalculationService = profitCalculationService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping("/calculate/{menuItemId}")
@@ -22,6 +34,27 @@ public class ProfitCalculationController {
         return ResponseEntity.ok(record);
     }
     
+    @PostMapping("/calculate/batch")
+    public ResponseEntity<BatchCalculationResponse> calculateProfitBatch(@RequestBody BatchCalculationRequest request) {
+        long start = System.currentTimeMillis();
+        if (Boolean.TRUE.equals(request.getAllActive())) {
+            List<ProfitCalculationRecord> records = profitCalculationService.calculateProfitForAllActive();
+            return ResponseEntity.ok(new BatchCalculationResponse(records.size(), List.of(),
+                System.currentTimeMillis() - start));
+        }
+        
+        List<ProfitCalculationRecord> records = profitCalculationService.calculateProfitBatch(request.getMenuItemIds());
+        Set<Long> skipped = new LinkedHashSet<>(request.getMenuItemIds());
+        records.forEach(record -> skipped.remove(record.getMenuItem().getId()));
+        return ResponseEntity.ok(new BatchCalculationResponse(records.size(), List.copyOf(skipped),
+            System.currentTimeMillis() - start));
+    }
+    
+    @GetMapping("/write-behind/stats")
+    public ResponseEntity<WriteBehindStatsResponse> getWriteBehindStats() {
+        return ResponseEntity.ok(profitCalculationService.getWriteBehindStats());
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ProfitCalculationRecord> getCalculationById(@PathVariable Long id) {
         ProfitCalculationRecord record = profitCalculationService.getCalculationById(id);
@@ -34,9 +67,51 @@ public class ProfitCalculationController {
         return ResponseEntity.ok(records);
     }
     
+    @GetMapping("/menu-item/{menuItemId}/latest")
+    public ResponseEntity<ProfitCalculationRecord> getLatestCalculationForMenuItem(@PathVariable Long menuItemId) {
+        ProfitCalculationRecord record = profitCalculationService.getLatestCalculationForMenuItem(menuItemId);
+        return ResponseEntity.ok(record);
+    }
+    
+    @GetMapping("/latest")
+    public ResponseEntity<Page<ProfitCalculationRecord>> getLatestCalculations(@RequestParam(defaultValue = "0") int page,
+                                                                              @RequestParam(defaultValue = "50") int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), ListingSupport.clampLimit(size), Sort.by("menuItem.id"));
+        Page<ProfitCalculationRecord> records = profitCalculationService.getLatestCalculations(pageRequest);
+        return ResponseEntity.ok(records);
+    }
+    
     @GetMapping
     public ResponseEntity<List<ProfitCalculationRecord>> getAllCalculations() {
         List<ProfitCalculationRecord> records = profitCalculationService.getAllCalculations();
         return ResponseEntity.ok(records);
     }
+    
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<ProfitCalculationRecord>> getCalculationsAfter(@RequestParam(defaultValue = "0") Long after,
+                                                                              @RequestParam int limit) {
+        List<ProfitCalculationRecord> records = profitCalculationService.getCalculationsAfter(after, ListingSupport.clampLimit(limit));
+        return ResponseEntity.ok(records);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportCalculations() {
+        StreamingResponseBody body = out -> profitCalculationService.streamAllCalculations(ListingSupport.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(ListingSupport.APPLICATION_NDJSON).body(body);
+    }
+    
+    @GetMapping(params = {"minMargin", "maxMargin"})
+    public ResponseEntity<Page<ProfitCalculationRecord>> findRecordsWithMarginBetween(
+            @RequestParam Double minMargin,
+            @RequestParam Double maxMargin,
+            @RequestParam(defaultValue = "false") boolean latestOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        // Sorting on the indexed columns lets the database walk the index instead of sorting the range
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), ListingSupport.clampLimit(size),
+            Sort.by("profitMargin", "calculatedAt"));
+        Page<ProfitCalculationRecord> records = profitCalculationService.findRecordsWithMarginBetween(
+            minMargin, maxMargin, latestOnly, pageRequest);
+        return ResponseEntity.ok(records);
+    }
 }
\ No newline at end of file
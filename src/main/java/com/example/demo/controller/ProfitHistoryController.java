@@ -0,0 +1,28 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.ProfitCalculationDailyRollup;
+import com.example.demo.service.ProfitHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/profit/history")
+public class ProfitHistoryController {
+    
+    private final ProfitHistoryService profitHistoryService;
+    
+    public ProfitHistoryController(ProfitHistoryService profitHistoryService) {
+        this.profitHistoryService = profitHistoryService;
+    }
+    
+    @GetMapping("/menu-item/{menuItemId}/daily")
+    public ResponseEntity<List<ProfitCalculationDailyRollup>> getDailyRollups(
+            @PathVariable Long menuItemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(profitHistoryService.getDailyRollups(menuItemId, from, to));
+    }
+}
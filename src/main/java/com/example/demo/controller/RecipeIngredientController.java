@@ -1,10 +1,14 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.IngredientDemandRequest;
 import com.example.demo.entity.RecipeIngredient;
+import com.example.demo.exception.BadRequestException;
 import com.example.demo.service.RecipeIngredientService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -12,9 +16,11 @@ import java.util.List;
 public class RecipeIngredientController {
     
     private final RecipeIngredientService recipeIngredientService;
+    private final ObjectMapper objectMapper;
     
-    public RecipeIngredientController(RecipeIngredientService recipeIngredientService) {
+    public RecipeIngredientController(RecipeIngredientService recipeIngredientService, ObjectMapper objectMapper) {
         this.recipeIngredientService = recipeIngredientService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
@@ -46,4 +52,18 @@ public class RecipeIngredientController {
         Double totalQuantity = recipeIngredientService.getTotalQuantityOfIngredient(ingredientId);
         return ResponseEntity.ok(totalQuantity);
     }
+    
+    // Total recipe quantity per ingredient in one grouped query, optionally weighted by expected sales per menu item
+    @PostMapping(value = "/ingredient-demand", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> getIngredientDemand(@RequestBody(required = false) IngredientDemandRequest request) {
+        IngredientDemandRequest demandRequest = request != null ? request : new IngredientDemandRequest();
+        // Checked up front: once streaming starts the status can no longer change
+        if (demandRequest.getMenuItemVolumes() != null
+                && demandRequest.getMenuItemVolumes().values().stream().anyMatch(volume -> volume == null || volume < 0)) {
+            throw new BadRequestException("Menu item volumes must be 0 or greater");
+        }
+        StreamingResponseBody body = out -> recipeIngredientService.streamIngredientDemand(demandRequest,
+            ListingSupport.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(ListingSupport.APPLICATION_NDJSON).body(body);
+    }
 }
\ No newline at end of file
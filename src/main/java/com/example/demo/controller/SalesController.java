@@ -0,0 +1,41 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.RealizedProfitResponse;
+import com.example.demo.dto.SalesCounterStatsResponse;
+import com.example.demo.dto.SalesEvent;
+import com.example.demo.service.SalesService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sales")
+public class SalesController {
+    
+    private final SalesService salesService;
+    
+    public SalesController(SalesService salesService) {
+        this.salesService = salesService;
+    }
+    
+    // Accepted rather than created: events are counted in memory and written by the next flush
+    @PostMapping("/events")
+    public ResponseEntity<Integer> recordSales(@RequestBody List<SalesEvent> events) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(salesService.recordSales(events));
+    }
+    
+    @GetMapping("/profit")
+    public ResponseEntity<RealizedProfitResponse> getRealizedProfit(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesService.getRealizedProfit(from, to));
+    }
+    
+    @GetMapping("/counters/stats")
+    public ResponseEntity<SalesCounterStatsResponse> getCounterStats() {
+        return ResponseEntity.ok(salesService.getCounterStats());
+    }
+}
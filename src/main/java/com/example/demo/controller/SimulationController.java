@@ -0,0 +1,30 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.SimulationRequest;
+import com.example.demo.dto.SimulationResponse;
+import com.example.demo.dto.SweepRequest;
+import com.example.demo.dto.SweepResponse;
+import com.example.demo.service.SimulationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/simulations")
+public class SimulationController {
+    
+    private final SimulationService simulationService;
+    
+    public SimulationController(SimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<SimulationResponse> simulate(@RequestBody SimulationRequest request) {
+        return ResponseEntity.ok(simulationService.simulate(request));
+    }
+    
+    @PostMapping("/sweep")
+    public ResponseEntity<SweepResponse> sweep(@RequestBody SweepRequest request) {
+        return ResponseEntity.ok(simulationService.sweep(request));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.RoleChangeRequest;
+import com.example.demo.entity.User;
+import com.example.demo.service.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+    
+    private final UserService userService;
+    
+    public UserController(UserService userService) {
+        this.userService = userService;
+    }
+    
+    // Admin only, like every /api/users endpoint; the only way to grant a role other than ROLE_USER
+    @PutMapping("/{id}/role")
+    public ResponseEntity<User> changeRole(@PathVariable Long id, @RequestBody RoleChangeRequest request) {
+        return ResponseEntity.ok(userService.changeRole(id, request.getRole()));
+    }
+    
+    @PutMapping("/{id}/deactivate")
+    public ResponseEntity<Void> deactivateUser(@PathVariable Long id) {
+        userService.deactivateUser(id);
+        return ResponseEntity.ok().build();
+    }
+}
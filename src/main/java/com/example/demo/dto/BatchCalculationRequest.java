@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class BatchCalculationRequest {
+    private List<Long> menuItemIds;
+    private Boolean allActive;
+    
+    // Getters and Setters
+    public List<Long> getMenuItemIds() { return menuItemIds; }
+    public void setMenuItemIds(List<Long> menuItemIds) { this.menuItemIds = menuItemIds; }
+    
+    public Boolean getAllActive() { return allActive; }
+    public void setAllActive(Boolean allActive) { this.allActive = allActive; }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class BatchCalculationResponse {
+    private Integer calculatedCount;
+    private List<Long> skippedMenuItemIds;
+    private Long durationMs;
+    
+    public BatchCalculationResponse(Integer calculatedCount, List<Long> skippedMenuItemIds, Long durationMs) {
+        this.calculatedCount = calculatedCount;
+        this.skippedMenuItemIds = skippedMenuItemIds;
+        this.durationMs = durationMs;
+    }
+    
+    // Getters and Setters
+    public Integer getCalculatedCount() { return calculatedCount; }
+    public void setCalculatedCount(Integer calculatedCount) { this.calculatedCount = calculatedCount; }
+    
+    public List<Long> getSkippedMenuItemIds() { return skippedMenuItemIds; }
+    public void setSkippedMenuItemIds(List<Long> skippedMenuItemIds) { this.skippedMenuItemIds = skippedMenuItemIds; }
+    
+    public Long getDurationMs() { return durationMs; }
+    public void setDurationMs(Long durationMs) { this.durationMs = durationMs; }
+}
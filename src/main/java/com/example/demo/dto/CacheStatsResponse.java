@@ -0,0 +1,39 @@
+package com.example.demo.dto;
+
+public class CacheStatsResponse {
+    private String name;
+    private Long size;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Double hitRatio;
+    
+    public CacheStatsResponse(String name, Long size, Long hits, Long misses, Long evictions) {
+        this.name = name;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        long lookups = hits + misses;
+        this.hitRatio = lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+    
+    public Long getHits() { return hits; }
+    public void setHits(Long hits) { this.hits = hits; }
+    
+    public Long getMisses() { return misses; }
+    public void setMisses(Long misses) { this.misses = misses; }
+    
+    public Long getEvictions() { return evictions; }
+    public void setEvictions(Long evictions) { this.evictions = evictions; }
+    
+    public Double getHitRatio() { return hitRatio; }
+    public void setHitRatio(Double hitRatio) { this.hitRatio = hitRatio; }
+}
@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
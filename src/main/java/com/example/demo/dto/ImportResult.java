@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private static final int MAX_REPORTED_ERRORS = 100;
+    
+    private Integer imported = 0;
+    private Integer skipped = 0;
+    private List<String> errors = new ArrayList<>();
+    
+    public void addImported(int count) {
+        imported += count;
+    }
+    
+    public void addSkipped(long lineNumber, String reason) {
+        skipped++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Line " + lineNumber + ": " + reason);
+        }
+    }
+    
+    public void addFailedBatch(long firstLineNumber, int count, String reason) {
+        skipped += count;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Batch of " + count + " rows starting at line " + firstLineNumber + " failed: " + reason);
+        }
+    }
+    
+    // Getters and Setters
+    public Integer getImported() { return imported; }
+    public void setImported(Integer imported) { this.imported = imported; }
+    
+    public Integer getSkipped() { return skipped; }
+    public void setSkipped(Integer skipped) { this.skipped = skipped; }
+    
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class IngredientDemandRequest {
+    // Restricts the result to these ingredients; all ingredients when empty
+    private List<Long> ingredientIds;
+    // Expected units sold per menu item id; when present each recipe quantity is multiplied by its item's volume
+    private Map<Long, Double> menuItemVolumes;
+    
+    // Getters and Setters
+    public List<Long> getIngredientIds() { return ingredientIds; }
+    public void setIngredientIds(List<Long> ingredientIds) { this.ingredientIds = ingredientIds; }
+    
+    public Map<Long, Double> getMenuItemVolumes() { return menuItemVolumes; }
+    public void setMenuItemVolumes(Map<Long, Double> menuItemVolumes) { this.menuItemVolumes = menuItemVolumes; }
+}
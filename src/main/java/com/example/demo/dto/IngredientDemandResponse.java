@@ -0,0 +1,34 @@
+package com.example.demo.dto;
+
+public class IngredientDemandResponse {
+    private Long ingredientId;
+    private String name;
+    private String unit;
+    private Double totalQuantity;
+    // Prep demand is already counted again in its components' totals
+    private Boolean prep;
+    
+    public IngredientDemandResponse(Long ingredientId, String name, String unit, Double totalQuantity, Boolean prep) {
+        this.ingredientId = ingredientId;
+        this.name = name;
+        this.unit = unit;
+        this.totalQuantity = totalQuantity;
+        this.prep = prep;
+    }
+    
+    // Getters and Setters
+    public Long getIngredientId() { return ingredientId; }
+    public void setIngredientId(Long ingredientId) { this.ingredientId = ingredientId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+    
+    public Double getTotalQuantity() { return totalQuantity; }
+    public void setTotalQuantity(Double totalQuantity) { this.totalQuantity = totalQuantity; }
+    
+    public Boolean getPrep() { return prep; }
+    public void setPrep(Boolean prep) { this.prep = prep; }
+}
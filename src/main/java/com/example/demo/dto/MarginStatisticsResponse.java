@@ -0,0 +1,67 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+public class MarginStatisticsResponse {
+    private Long categoryId;
+    private String categoryName;
+    private Long itemCount;
+    private Double minMargin;
+    private Double maxMargin;
+    private Double avgMargin;
+    private Double p25Margin;
+    private Double medianMargin;
+    private Double p75Margin;
+    private Double p90Margin;
+    private BigDecimal totalCost;
+    private BigDecimal minCost;
+    private BigDecimal maxCost;
+    private Double avgCost;
+    private Double foodCostPercentage;
+    
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    
+    public Long getItemCount() { return itemCount; }
+    public void setItemCount(Long itemCount) { this.itemCount = itemCount; }
+    
+    public Double getMinMargin() { return minMargin; }
+    public void setMinMargin(Double minMargin) { this.minMargin = minMargin; }
+    
+    public Double getMaxMargin() { return maxMargin; }
+    public void setMaxMargin(Double maxMargin) { this.maxMargin = maxMargin; }
+    
+    public Double getAvgMargin() { return avgMargin; }
+    public void setAvgMargin(Double avgMargin) { this.avgMargin = avgMargin; }
+    
+    public Double getP25Margin() { return p25Margin; }
+    public void setP25Margin(Double p25Margin) { this.p25Margin = p25Margin; }
+    
+    public Double getMedianMargin() { return medianMargin; }
+    public void setMedianMargin(Double medianMargin) { this.medianMargin = medianMargin; }
+    
+    public Double getP75Margin() { return p75Margin; }
+    public void setP75Margin(Double p75Margin) { this.p75Margin = p75Margin; }
+    
+    public Double getP90Margin() { return p90Margin; }
+    public void setP90Margin(Double p90Margin) { this.p90Margin = p90Margin; }
+    
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+    
+    public BigDecimal getMinCost() { return minCost; }
+    public void setMinCost(BigDecimal minCost) { this.minCost = minCost; }
+    
+    public BigDecimal getMaxCost() { return maxCost; }
+    public void setMaxCost(BigDecimal maxCost) { this.maxCost = maxCost; }
+    
+    public Double getAvgCost() { return avgCost; }
+    public void setAvgCost(Double avgCost) { this.avgCost = avgCost; }
+    
+    public Double getFoodCostPercentage() { return foodCostPercentage; }
+    public void setFoodCostPercentage(Double foodCostPercentage) { this.foodCostPercentage = foodCostPercentage; }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class MenuAnalyticsResponse {
+    private MarginStatisticsResponse menu;
+    private List<MarginStatisticsResponse> categories;
+    private List<MenuItemMarginResponse> lowestMarginItems;
+    private LocalDateTime generatedAt;
+    
+    public MenuAnalyticsResponse(MarginStatisticsResponse menu, List<MarginStatisticsResponse> categories,
+                                 List<MenuItemMarginResponse> lowestMarginItems, LocalDateTime generatedAt) {
+        this.menu = menu;
+        this.categories = categories;
+        this.lowestMarginItems = lowestMarginItems;
+        this.generatedAt = generatedAt;
+    }
+    
+    // Getters and Setters
+    public MarginStatisticsResponse getMenu() { return menu; }
+    public void setMenu(MarginStatisticsResponse menu) { this.menu = menu; }
+    
+    public List<MarginStatisticsResponse> getCategories() { return categories; }
+    public void setCategories(List<MarginStatisticsResponse> categories) { this.categories = categories; }
+    
+    public List<MenuItemMarginResponse> getLowestMarginItems() { return lowestMarginItems; }
+    public void setLowestMarginItems(List<MenuItemMarginResponse> lowestMarginItems) { this.lowestMarginItems = lowestMarginItems; }
+    
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+// Immutable: catalog entries are shared by every request reading the same snapshot
+public class MenuCatalogCategory {
+    private final Long id;
+    private final String name;
+    
+    public MenuCatalogCategory(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public String getName() { return name; }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+// Immutable: catalog entries are shared by every request reading the same snapshot
+public class MenuCatalogIngredient {
+    private final Long ingredientId;
+    private final String name;
+    private final String unit;
+    private final Double quantity;
+    
+    public MenuCatalogIngredient(Long ingredientId, String name, String unit, Double quantity) {
+        this.ingredientId = ingredientId;
+        this.name = name;
+        this.unit = unit;
+        this.quantity = quantity;
+    }
+    
+    // Getters
+    public Long getIngredientId() { return ingredientId; }
+    
+    public String getName() { return name; }
+    
+    public String getUnit() { return unit; }
+    
+    public Double getQuantity() { return quantity; }
+}
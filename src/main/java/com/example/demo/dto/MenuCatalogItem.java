@@ -0,0 +1,45 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Immutable: catalog entries are shared by every request reading the same snapshot
+public class MenuCatalogItem {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal sellingPrice;
+    private final BigDecimal totalCost;
+    private final Double profitMargin;
+    private final List<MenuCatalogCategory> categories;
+    private final List<MenuCatalogIngredient> ingredients;
+    
+    public MenuCatalogItem(Long id, String name, String description, BigDecimal sellingPrice, BigDecimal totalCost,
+                           Double profitMargin, List<MenuCatalogCategory> categories, List<MenuCatalogIngredient> ingredients) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.sellingPrice = sellingPrice;
+        this.totalCost = totalCost;
+        this.profitMargin = profitMargin;
+        this.categories = List.copyOf(categories);
+        this.ingredients = List.copyOf(ingredients);
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public String getName() { return name; }
+    
+    public String getDescription() { return description; }
+    
+    public BigDecimal getSellingPrice() { return sellingPrice; }
+    
+    public BigDecimal getTotalCost() { return totalCost; }
+    
+    public Double getProfitMargin() { return profitMargin; }
+    
+    public List<MenuCatalogCategory> getCategories() { return categories; }
+    
+    public List<MenuCatalogIngredient> getIngredients() { return ingredients; }
+}
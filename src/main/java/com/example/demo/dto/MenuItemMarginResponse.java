@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+public class MenuItemMarginResponse {
+    private Long menuItemId;
+    private String name;
+    private BigDecimal totalCost;
+    private Double profitMargin;
+    
+    public MenuItemMarginResponse(Long menuItemId, String name, BigDecimal totalCost, Double profitMargin) {
+        this.menuItemId = menuItemId;
+        this.name = name;
+        this.totalCost = totalCost;
+        this.profitMargin = profitMargin;
+    }
+    
+    // Getters and Setters
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+    
+    public Double getProfitMargin() { return profitMargin; }
+    public void setProfitMargin(Double profitMargin) { this.profitMargin = profitMargin; }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+// Exactly one of percentChange or newCostPerUnit is expected
+public class PriceChange {
+    private Long ingredientId;
+    private Double percentChange;
+    private BigDecimal newCostPerUnit;
+    
+    // Getters and Setters
+    public Long getIngredientId() { return ingredientId; }
+    public void setIngredientId(Long ingredientId) { this.ingredientId = ingredientId; }
+    
+    public Double getPercentChange() { return percentChange; }
+    public void setPercentChange(Double percentChange) { this.percentChange = percentChange; }
+    
+    public BigDecimal getNewCostPerUnit() { return newCostPerUnit; }
+    public void setNewCostPerUnit(BigDecimal newCostPerUnit) { this.newCostPerUnit = newCostPerUnit; }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class PriceOptimizationRequest {
+    // Target profit margin (%) per category id; an item in several categories takes the highest target
+    private Map<Long, Double> categoryTargets;
+    // Applies to items without a targeted category; when absent those items keep their current price
+    private Double defaultTargetMargin;
+    // Prices are rounded up to a multiple of this increment, e.g. 0.05
+    private BigDecimal roundingIncrement;
+    // Alternatively, prices are rounded up to the next price ending in this fraction, e.g. 0.99
+    private BigDecimal priceEnding;
+    private Boolean allowPriceDecrease = true;
+    
+    // Getters and Setters
+    public Map<Long, Double> getCategoryTargets() { return categoryTargets; }
+    public void setCategoryTargets(Map<Long, Double> categoryTargets) { this.categoryTargets = categoryTargets; }
+    
+    public Double getDefaultTargetMargin() { return defaultTargetMargin; }
+    public void setDefaultTargetMargin(Double defaultTargetMargin) { this.defaultTargetMargin = defaultTargetMargin; }
+    
+    public BigDecimal getRoundingIncrement() { return roundingIncrement; }
+    public void setRoundingIncrement(BigDecimal roundingIncrement) { this.roundingIncrement = roundingIncrement; }
+    
+    public BigDecimal getPriceEnding() { return priceEnding; }
+    public void setPriceEnding(BigDecimal priceEnding) { this.priceEnding = priceEnding; }
+    
+    public Boolean getAllowPriceDecrease() { return allowPriceDecrease; }
+    public void setAllowPriceDecrease(Boolean allowPriceDecrease) { this.allowPriceDecrease = allowPriceDecrease; }
+}
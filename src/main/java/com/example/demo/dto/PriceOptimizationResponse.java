@@ -0,0 +1,48 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class PriceOptimizationResponse {
+    private Integer itemCount;
+    private Integer changedCount;
+    private MarginStatisticsResponse currentDistribution;
+    private MarginStatisticsResponse projectedDistribution;
+    private List<PriceSuggestion> suggestions;
+    private LocalDateTime generatedAt;
+    private Long durationMillis;
+    
+    public PriceOptimizationResponse(Integer itemCount, Integer changedCount, MarginStatisticsResponse currentDistribution,
+                                     MarginStatisticsResponse projectedDistribution, List<PriceSuggestion> suggestions,
+                                     LocalDateTime generatedAt, Long durationMillis) {
+        this.itemCount = itemCount;
+        this.changedCount = changedCount;
+        this.currentDistribution = currentDistribution;
+        this.projectedDistribution = projectedDistribution;
+        this.suggestions = suggestions;
+        this.generatedAt = generatedAt;
+        this.durationMillis = durationMillis;
+    }
+    
+    // Getters and Setters
+    public Integer getItemCount() { return itemCount; }
+    public void setItemCount(Integer itemCount) { this.itemCount = itemCount; }
+    
+    public Integer getChangedCount() { return changedCount; }
+    public void setChangedCount(Integer changedCount) { this.changedCount = changedCount; }
+    
+    public MarginStatisticsResponse getCurrentDistribution() { return currentDistribution; }
+    public void setCurrentDistribution(MarginStatisticsResponse currentDistribution) { this.currentDistribution = currentDistribution; }
+    
+    public MarginStatisticsResponse getProjectedDistribution() { return projectedDistribution; }
+    public void setProjectedDistribution(MarginStatisticsResponse projectedDistribution) { this.projectedDistribution = projectedDistribution; }
+    
+    public List<PriceSuggestion> getSuggestions() { return suggestions; }
+    public void setSuggestions(List<PriceSuggestion> suggestions) { this.suggestions = suggestions; }
+    
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+    
+    public Long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(Long durationMillis) { this.durationMillis = durationMillis; }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+public class PriceSuggestion {
+    private Long menuItemId;
+    private String name;
+    private BigDecimal totalCost;
+    private BigDecimal currentPrice;
+    private BigDecimal suggestedPrice;
+    private Double targetMargin;
+    private Double currentMargin;
+    private Double projectedMargin;
+    
+    public PriceSuggestion(Long menuItemId, String name, BigDecimal totalCost, BigDecimal currentPrice,
+                           BigDecimal suggestedPrice, Double targetMargin, Double currentMargin, Double projectedMargin) {
+        this.menuItemId = menuItemId;
+        this.name = name;
+        this.totalCost = totalCost;
+        this.currentPrice = currentPrice;
+        this.suggestedPrice = suggestedPrice;
+        this.targetMargin = targetMargin;
+        this.currentMargin = currentMargin;
+        this.projectedMargin = projectedMargin;
+    }
+    
+    // Getters and Setters
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+    
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
+    
+    public BigDecimal getSuggestedPrice() { return suggestedPrice; }
+    public void setSuggestedPrice(BigDecimal suggestedPrice) { this.suggestedPrice = suggestedPrice; }
+    
+    public Double getTargetMargin() { return targetMargin; }
+    public void setTargetMargin(Double targetMargin) { this.targetMargin = targetMargin; }
+    
+    public Double getCurrentMargin() { return currentMargin; }
+    public void setCurrentMargin(Double currentMargin) { this.currentMargin = currentMargin; }
+    
+    public Double getProjectedMargin() { return projectedMargin; }
+    public void setProjectedMargin(Double projectedMargin) { this.projectedMargin = projectedMargin; }
+}
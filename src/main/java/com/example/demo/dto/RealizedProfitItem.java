@@ -0,0 +1,41 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+public class RealizedProfitItem {
+    private Long menuItemId;
+    private String name;
+    private Long quantity;
+    private BigDecimal revenue;
+    // Null when the item has no cost snapshot yet
+    private BigDecimal cost;
+    private BigDecimal profit;
+    
+    public RealizedProfitItem(Long menuItemId, String name, Long quantity, BigDecimal revenue, BigDecimal cost, BigDecimal profit) {
+        this.menuItemId = menuItemId;
+        this.name = name;
+        this.quantity = quantity;
+        this.revenue = revenue;
+        this.cost = cost;
+        this.profit = profit;
+    }
+    
+    // Getters and Setters
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Long getQuantity() { return quantity; }
+    public void setQuantity(Long quantity) { this.quantity = quantity; }
+    
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+    
+    public BigDecimal getCost() { return cost; }
+    public void setCost(BigDecimal cost) { this.cost = cost; }
+    
+    public BigDecimal getProfit() { return profit; }
+    public void setProfit(BigDecimal profit) { this.profit = profit; }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class RealizedProfitResponse {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long totalQuantity;
+    // Revenue, cost and profit totals cover only the items with a cost snapshot, so revenue - cost = profit
+    private BigDecimal totalRevenue;
+    private BigDecimal totalCost;
+    private BigDecimal totalProfit;
+    // Revenue of the items sold without a cost snapshot, kept out of the totals above
+    private BigDecimal uncostedRevenue;
+    private List<RealizedProfitItem> items;
+    
+    public RealizedProfitResponse(LocalDateTime from, LocalDateTime to, Long totalQuantity, BigDecimal totalRevenue,
+                                  BigDecimal totalCost, BigDecimal totalProfit, BigDecimal uncostedRevenue,
+                                  List<RealizedProfitItem> items) {
+        this.from = from;
+        this.to = to;
+        this.totalQuantity = totalQuantity;
+        this.totalRevenue = totalRevenue;
+        this.totalCost = totalCost;
+        this.totalProfit = totalProfit;
+        this.uncostedRevenue = uncostedRevenue;
+        this.items = items;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+    
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+    
+    public Long getTotalQuantity() { return totalQuantity; }
+    public void setTotalQuantity(Long totalQuantity) { this.totalQuantity = totalQuantity; }
+    
+    public BigDecimal getTotalRevenue() { return totalRevenue; }
+    public void setTotalRevenue(BigDecimal totalRevenue) { this.totalRevenue = totalRevenue; }
+    
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+    
+    public BigDecimal getTotalProfit() { return totalProfit; }
+    public void setTotalProfit(BigDecimal totalProfit) { this.totalProfit = totalProfit; }
+    
+    public BigDecimal getUncostedRevenue() { return uncostedRevenue; }
+    public void setUncostedRevenue(BigDecimal uncostedRevenue) { this.uncostedRevenue = uncostedRevenue; }
+    
+    public List<RealizedProfitItem> getItems() { return items; }
+    public void setItems(List<RealizedProfitItem> items) { this.items = items; }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+
+public class RoleChangeRequest {
+    private String role;
+    
+    // Getters and Setters
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+public class SalesCounterStatsResponse {
+    private Integer activeBuckets;
+    private Long eventsReceived;
+    private Long unitsFlushed;
+    private Long flushFailures;
+    
+    public SalesCounterStatsResponse(Integer activeBuckets, Long eventsReceived, Long unitsFlushed, Long flushFailures) {
+        this.activeBuckets = activeBuckets;
+        this.eventsReceived = eventsReceived;
+        this.unitsFlushed = unitsFlushed;
+        this.flushFailures = flushFailures;
+    }
+    
+    // Getters and Setters
+    public Integer getActiveBuckets() { return activeBuckets; }
+    public void setActiveBuckets(Integer activeBuckets) { this.activeBuckets = activeBuckets; }
+    
+    public Long getEventsReceived() { return eventsReceived; }
+    public void setEventsReceived(Long eventsReceived) { this.eventsReceived = eventsReceived; }
+    
+    public Long getUnitsFlushed() { return unitsFlushed; }
+    public void setUnitsFlushed(Long unitsFlushed) { this.unitsFlushed = unitsFlushed; }
+    
+    public Long getFlushFailures() { return flushFailures; }
+    public void setFlushFailures(Long flushFailures) { this.flushFailures = flushFailures; }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+public class SalesEvent {
+    private Long menuItemId;
+    private Integer quantity;
+    // Defaults to the time of ingestion
+    private LocalDateTime soldAt;
+    
+    // Getters and Setters
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    
+    public LocalDateTime getSoldAt() { return soldAt; }
+    public void setSoldAt(LocalDateTime soldAt) { this.soldAt = soldAt; }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.dto;
+
+public class SimulatedMargin {
+    private Long menuItemId;
+    private String name;
+    private Double currentCost;
+    private Double simulatedCost;
+    private Double currentMargin;
+    private Double simulatedMargin;
+    private Double marginDelta;
+    
+    public SimulatedMargin(Long menuItemId, String name, Double currentCost, Double simulatedCost,
+                           Double currentMargin, Double simulatedMargin) {
+        this.menuItemId = menuItemId;
+        this.name = name;
+        this.currentCost = currentCost;
+        this.simulatedCost = simulatedCost;
+        this.currentMargin = currentMargin;
+        this.simulatedMargin = simulatedMargin;
+        this.marginDelta = Math.round((simulatedMargin - currentMargin) * 100) / 100.0;
+    }
+    
+    // Getters and Setters
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Double getCurrentCost() { return currentCost; }
+    public void setCurrentCost(Double currentCost) { this.currentCost = currentCost; }
+    
+    public Double getSimulatedCost() { return simulatedCost; }
+    public void setSimulatedCost(Double simulatedCost) { this.simulatedCost = simulatedCost; }
+    
+    public Double getCurrentMargin() { return currentMargin; }
+    public void setCurrentMargin(Double currentMargin) { this.currentMargin = currentMargin; }
+    
+    public Double getSimulatedMargin() { return simulatedMargin; }
+    public void setSimulatedMargin(Double simulatedMargin) { this.simulatedMargin = simulatedMargin; }
+    
+    public Double getMarginDelta() { return marginDelta; }
+    public void setMarginDelta(Double marginDelta) { this.marginDelta = marginDelta; }
+}
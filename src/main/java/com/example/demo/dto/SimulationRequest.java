@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class SimulationRequest {
+    private List<PriceChange> priceChanges;
+    
+    // Getters and Setters
+    public List<PriceChange> getPriceChanges() { return priceChanges; }
+    public void setPriceChanges(List<PriceChange> priceChanges) { this.priceChanges = priceChanges; }
+}
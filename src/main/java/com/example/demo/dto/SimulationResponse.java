@@ -0,0 +1,31 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SimulationResponse {
+    private Integer affectedItemCount;
+    private List<SimulatedMargin> items;
+    private LocalDateTime snapshotBuiltAt;
+    private Long evaluationMicros;
+    
+    public SimulationResponse(List<SimulatedMargin> items, LocalDateTime snapshotBuiltAt, Long evaluationMicros) {
+        this.affectedItemCount = items.size();
+        this.items = items;
+        this.snapshotBuiltAt = snapshotBuiltAt;
+        this.evaluationMicros = evaluationMicros;
+    }
+    
+    // Getters and Setters
+    public Integer getAffectedItemCount() { return affectedItemCount; }
+    public void setAffectedItemCount(Integer affectedItemCount) { this.affectedItemCount = affectedItemCount; }
+    
+    public List<SimulatedMargin> getItems() { return items; }
+    public void setItems(List<SimulatedMargin> items) { this.items = items; }
+    
+    public LocalDateTime getSnapshotBuiltAt() { return snapshotBuiltAt; }
+    public void setSnapshotBuiltAt(LocalDateTime snapshotBuiltAt) { this.snapshotBuiltAt = snapshotBuiltAt; }
+    
+    public Long getEvaluationMicros() { return evaluationMicros; }
+    public void setEvaluationMicros(Long evaluationMicros) { this.evaluationMicros = evaluationMicros; }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+// Prices the ingredient at `points` evenly spaced steps between the two percentage changes, inclusive
+public class SweepAxis {
+    private Long ingredientId;
+    private Double fromPercentChange;
+    private Double toPercentChange;
+    private Integer points;
+    
+    // Getters and Setters
+    public Long getIngredientId() { return ingredientId; }
+    public void setIngredientId(Long ingredientId) { this.ingredientId = ingredientId; }
+    
+    public Double getFromPercentChange() { return fromPercentChange; }
+    public void setFromPercentChange(Double fromPercentChange) { this.fromPercentChange = fromPercentChange; }
+    
+    public Double getToPercentChange() { return toPercentChange; }
+    public void setToPercentChange(Double toPercentChange) { this.toPercentChange = toPercentChange; }
+    
+    public Integer getPoints() { return points; }
+    public void setPoints(Integer points) { this.points = points; }
+}
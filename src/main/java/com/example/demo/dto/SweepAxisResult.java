@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class SweepAxisResult {
+    private Long ingredientId;
+    private Double currentCostPerUnit;
+    private Double priceCeiling;
+    private List<SweepPoint> points;
+    
+    public SweepAxisResult(Long ingredientId, Double currentCostPerUnit, Double priceCeiling, List<SweepPoint> points) {
+        this.ingredientId = ingredientId;
+        this.currentCostPerUnit = currentCostPerUnit;
+        this.priceCeiling = priceCeiling;
+        this.points = points;
+    }
+    
+    // Getters and Setters
+    public Long getIngredientId() { return ingredientId; }
+    public void setIngredientId(Long ingredientId) { this.ingredientId = ingredientId; }
+    
+    public Double getCurrentCostPerUnit() { return currentCostPerUnit; }
+    public void setCurrentCostPerUnit(Double currentCostPerUnit) { this.currentCostPerUnit = currentCostPerUnit; }
+    
+    public Double getPriceCeiling() { return priceCeiling; }
+    public void setPriceCeiling(Double priceCeiling) { this.priceCeiling = priceCeiling; }
+    
+    public List<SweepPoint> getPoints() { return points; }
+    public void setPoints(List<SweepPoint> points) { this.points = points; }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class SweepPoint {
+    private Double percentChange;
+    private Double costPerUnit;
+    private Integer crossingCount;
+    private List<Long> crossingMenuItemIds;
+    
+    public SweepPoint(Double percentChange, Double costPerUnit, List<Long> crossingMenuItemIds) {
+        this.percentChange = percentChange;
+        this.costPerUnit = costPerUnit;
+        this.crossingCount = crossingMenuItemIds.size();
+        this.crossingMenuItemIds = crossingMenuItemIds;
+    }
+    
+    // Getters and Setters
+    public Double getPercentChange() { return percentChange; }
+    public void setPercentChange(Double percentChange) { this.percentChange = percentChange; }
+    
+    public Double getCostPerUnit() { return costPerUnit; }
+    public void setCostPerUnit(Double costPerUnit) { this.costPerUnit = costPerUnit; }
+    
+    public Integer getCrossingCount() { return crossingCount; }
+    public void setCrossingCount(Integer crossingCount) { this.crossingCount = crossingCount; }
+    
+    public List<Long> getCrossingMenuItemIds() { return crossingMenuItemIds; }
+    public void setCrossingMenuItemIds(List<Long> crossingMenuItemIds) { this.crossingMenuItemIds = crossingMenuItemIds; }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class SweepRequest {
+    private Double marginThreshold;
+    private List<SweepAxis> axes;
+    
+    // Getters and Setters
+    public Double getMarginThreshold() { return marginThreshold; }
+    public void setMarginThreshold(Double marginThreshold) { this.marginThreshold = marginThreshold; }
+    
+    public List<SweepAxis> getAxes() { return axes; }
+    public void setAxes(List<SweepAxis> axes) { this.axes = axes; }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SweepResponse {
+    private Double marginThreshold;
+    private Integer scenarioCount;
+    private List<SweepAxisResult> axes;
+    private LocalDateTime snapshotBuiltAt;
+    private Long evaluationMicros;
+    
+    public SweepResponse(Double marginThreshold, Integer scenarioCount, List<SweepAxisResult> axes,
+                         LocalDateTime snapshotBuiltAt, Long evaluationMicros) {
+        this.marginThreshold = marginThreshold;
+        this.scenarioCount = scenarioCount;
+        this.axes = axes;
+        this.snapshotBuiltAt = snapshotBuiltAt;
+        this.evaluationMicros = evaluationMicros;
+    }
+    
+    // Getters and Setters
+    public Double getMarginThreshold() { return marginThreshold; }
+    public void setMarginThreshold(Double marginThreshold) { this.marginThreshold = marginThreshold; }
+    
+    public Integer getScenarioCount() { return scenarioCount; }
+    public void setScenarioCount(Integer scenarioCount) { this.scenarioCount = scenarioCount; }
+    
+    public List<SweepAxisResult> getAxes() { return axes; }
+    public void setAxes(List<SweepAxisResult> axes) { this.axes = axes; }
+    
+    public LocalDateTime getSnapshotBuiltAt() { return snapshotBuiltAt; }
+    public void setSnapshotBuiltAt(LocalDateTime snapshotBuiltAt) { this.snapshotBuiltAt = snapshotBuiltAt; }
+    
+    public Long getEvaluationMicros() { return evaluationMicros; }
+    public void setEvaluationMicros(Long evaluationMicros) { this.evaluationMicros = evaluationMicros; }
+}
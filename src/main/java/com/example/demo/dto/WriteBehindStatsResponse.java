@@ -0,0 +1,54 @@
+package com.example.demo.dto;
+
+public class WriteBehindStatsResponse {
+    private Boolean enabled;
+    private Boolean writerAlive;
+    private Integer queueDepth;
+    private Integer capacity;
+    private Long enqueued;
+    private Long written;
+    private Long writtenInline;
+    private Long retried;
+    private Long failed;
+    
+    public WriteBehindStatsResponse(Boolean enabled, Boolean writerAlive, Integer queueDepth, Integer capacity,
+                                    Long enqueued, Long written, Long writtenInline, Long retried, Long failed) {
+        this.enabled = enabled;
+        this.writerAlive = writerAlive;
+        this.queueDepth = queueDepth;
+        this.capacity = capacity;
+        this.enqueued = enqueued;
+        this.written = written;
+        this.writtenInline = writtenInline;
+        this.retried = retried;
+        this.failed = failed;
+    }
+    
+    // Getters and Setters
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+    
+    public Boolean getWriterAlive() { return writerAlive; }
+    public void setWriterAlive(Boolean writerAlive) { this.writerAlive = writerAlive; }
+    
+    public Integer getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(Integer queueDepth) { this.queueDepth = queueDepth; }
+    
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+    
+    public Long getEnqueued() { return enqueued; }
+    public void setEnqueued(Long enqueued) { this.enqueued = enqueued; }
+    
+    public Long getWritten() { return written; }
+    public void setWritten(Long written) { this.written = written; }
+    
+    public Long getWrittenInline() { return writtenInline; }
+    public void setWrittenInline(Long writtenInline) { this.writtenInline = writtenInline; }
+    
+    public Long getRetried() { return retried; }
+    public void setRetried(Long retried) { this.retried = retried; }
+    
+    public Long getFailed() { return failed; }
+    public void setFailed(Long failed) { this.failed = failed; }
+}
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Table(name = "ingredients")
 public class Ingredient {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredients_seq")
+    @SequenceGenerator(name = "ingredients_seq", sequenceName = "ingredients_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -16,12 +17,19 @@ public class Ingredient {
     
     private String unit;
     
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = 6)
     private BigDecimal costPerUnit;
     
     @Column(nullable = false)
     private Boolean active = true;
     
+    // Prep items (sauces, doughs) are made in-house from other ingredients; their cost per unit is rolled up
+    @Column(nullable = false)
+    private Boolean prep = false;
+    
+    // Units of a prep item produced by one batch of its components
+    private Double yieldQuantity;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -52,6 +60,12 @@ public class Ingredient {
     public Boolean getActive() { return active; }
     public void setActive(Boolean active) { this.active = active; }
     
+    public Boolean getPrep() { return prep; }
+    public void setPrep(Boolean prep) { this.prep = prep; }
+    
+    public Double getYieldQuantity() { return yieldQuantity; }
+    public void setYieldQuantity(Double yieldQuantity) { this.yieldQuantity = yieldQuantity; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -1,6 +1,7 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -10,7 +11,8 @@ import java.util.Set;
 @Table(name = "menu_items")
 public class MenuItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -27,6 +29,8 @@ public class MenuItem {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    // Pages of items (keyset listings, record pages) load their categories a batch at a time instead of one per item
+    @BatchSize(size = 100)
     @ManyToMany
     @JoinTable(
         name = "menu_item_categories",
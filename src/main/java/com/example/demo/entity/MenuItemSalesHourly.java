@@ -0,0 +1,38 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Units sold per menu item and hour; rows are only ever incremented, by upsert, from the in-memory sales counters
+@Entity
+@Table(name = "menu_item_sales_hourly", indexes = {
+    @Index(name = "idx_menu_item_sales_hourly_hour", columnList = "hour_start")
+})
+@IdClass(MenuItemSalesHourlyId.class)
+public class MenuItemSalesHourly {
+    @Id
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+    
+    @Id
+    @Column(name = "hour_start")
+    private LocalDateTime hourStart;
+    
+    @Column(nullable = false)
+    private Long quantity;
+    
+    private LocalDateTime updatedAt;
+    
+    // Getters and Setters
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    
+    public LocalDateTime getHourStart() { return hourStart; }
+    public void setHourStart(LocalDateTime hourStart) { this.hourStart = hourStart; }
+    
+    public Long getQuantity() { return quantity; }
+    public void setQuantity(Long quantity) { this.quantity = quantity; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class MenuItemSalesHourlyId implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private Long menuItemId;
+    private LocalDateTime hourStart;
+    
+    public MenuItemSalesHourlyId() {
+    }
+    
+    public MenuItemSalesHourlyId(Long menuItemId, LocalDateTime hourStart) {
+        this.menuItemId = menuItemId;
+        this.hourStart = hourStart;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MenuItemSalesHourlyId other)) {
+            return false;
+        }
+        return Objects.equals(menuItemId, other.menuItemId) && Objects.equals(hourStart, other.hourStart);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(menuItemId, hourStart);
+    }
+}
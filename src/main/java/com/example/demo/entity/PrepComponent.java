@@ -0,0 +1,41 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+
+// One edge of the prep graph: `quantity` units of `component` go into one batch of `prep`
+@Entity
+@Table(name = "prep_components", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_prep_components_prep_component", columnNames = {"prep_id", "component_id"})
+}, indexes = {
+    @Index(name = "idx_prep_components_component", columnList = "component_id")
+})
+public class PrepComponent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prep_components_seq")
+    @SequenceGenerator(name = "prep_components_seq", sequenceName = "prep_components_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne
+    @JoinColumn(name = "prep_id", nullable = false)
+    private Ingredient prep;
+    
+    @ManyToOne
+    @JoinColumn(name = "component_id", nullable = false)
+    private Ingredient component;
+    
+    @Column(nullable = false)
+    private Double quantity;
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Ingredient getPrep() { return prep; }
+    public void setPrep(Ingredient prep) { this.prep = prep; }
+    
+    public Ingredient getComponent() { return component; }
+    public void setComponent(Ingredient component) { this.component = component; }
+    
+    public Double getQuantity() { return quantity; }
+    public void setQuantity(Double quantity) { this.quantity = quantity; }
+}
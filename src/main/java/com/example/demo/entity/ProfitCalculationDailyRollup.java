@@ -0,0 +1,81 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+// Daily per-item aggregate of compacted profit calculation records; sums are kept so later batches can merge in
+@Entity
+@Table(name = "profit_calculation_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_profit_rollups_item_date", columnNames = {"menu_item_id", "rollup_date"})
+})
+public class ProfitCalculationDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profit_calculation_daily_rollups_seq")
+    @SequenceGenerator(name = "profit_calculation_daily_rollups_seq", sequenceName = "profit_calculation_daily_rollups_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+    
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+    
+    @Column(nullable = false)
+    private Long recordCount = 0L;
+    
+    private Double minMargin;
+    private Double maxMargin;
+    
+    @Column(nullable = false)
+    private Double marginSum = 0.0;
+    
+    @Column(precision = 19, scale = 6)
+    private BigDecimal minCost;
+    
+    @Column(precision = 19, scale = 6)
+    private BigDecimal maxCost;
+    
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal costSum = BigDecimal.ZERO;
+    
+    public Double getAvgMargin() {
+        return recordCount == 0 ? null : marginSum / recordCount;
+    }
+    
+    public BigDecimal getAvgCost() {
+        return recordCount == 0 ? null : costSum.divide(BigDecimal.valueOf(recordCount), 6, RoundingMode.HALF_UP);
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    
+    public LocalDate getRollupDate() { return rollupDate; }
+    public void setRollupDate(LocalDate rollupDate) { this.rollupDate = rollupDate; }
+    
+    public Long getRecordCount() { return recordCount; }
+    public void setRecordCount(Long recordCount) { this.recordCount = recordCount; }
+    
+    public Double getMinMargin() { return minMargin; }
+    public void setMinMargin(Double minMargin) { this.minMargin = minMargin; }
+    
+    public Double getMaxMargin() { return maxMargin; }
+    public void setMaxMargin(Double maxMargin) { this.maxMargin = maxMargin; }
+    
+    public Double getMarginSum() { return marginSum; }
+    public void setMarginSum(Double marginSum) { this.marginSum = marginSum; }
+    
+    public BigDecimal getMinCost() { return minCost; }
+    public void setMinCost(BigDecimal minCost) { this.minCost = minCost; }
+    
+    public BigDecimal getMaxCost() { return maxCost; }
+    public void setMaxCost(BigDecimal maxCost) { this.maxCost = maxCost; }
+    
+    public BigDecimal getCostSum() { return costSum; }
+    public void setCostSum(BigDecimal costSum) { this.costSum = costSum; }
+}
@@ -5,10 +5,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "profit_calculation_records")
+@Table(name = "profit_calculation_records", indexes = {
+    @Index(name = "idx_profit_records_margin_calculated", columnList = "profit_margin, calculated_at"),
+    @Index(name = "idx_profit_records_item_calculated", columnList = "menu_item_id, calculated_at DESC"),
+    @Index(name = "idx_profit_records_calculated", columnList = "calculated_at")
+})
 public class ProfitCalculationRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profit_calculation_records_seq")
+    @SequenceGenerator(name = "profit_calculation_records_seq", sequenceName = "profit_calculation_records_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -26,7 +31,9 @@ public class ProfitCalculationRecord {
     
     @PrePersist
     protected void onCreate() {
-        calculatedAt = LocalDateTime.now();
+        if (calculatedAt == null) {
+            calculatedAt = LocalDateTime.now();
+        }
     }
     
     // Getters and Setters
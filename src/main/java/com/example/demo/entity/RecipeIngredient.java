@@ -3,10 +3,14 @@ package com.example.demo.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "recipe_ingredients")
+@Table(name = "recipe_ingredients", indexes = {
+    @Index(name = "idx_recipe_ingredients_ingredient", columnList = "ingredient_id"),
+    @Index(name = "idx_recipe_ingredients_menu_item", columnList = "menu_item_id")
+})
 public class RecipeIngredient {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_ingredients_seq")
+    @SequenceGenerator(name = "recipe_ingredients_seq", sequenceName = "recipe_ingredients_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
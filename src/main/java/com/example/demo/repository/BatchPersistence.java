@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+
+// Persists entities in chunks; with pooled ids Hibernate groups each chunk into JDBC batches
+final class BatchPersistence {
+    
+    private BatchPersistence() {
+    }
+    
+    static <T> void persistAll(EntityManager entityManager, List<T> entities, int batchSize) {
+        for (int start = 0; start < entities.size(); start += batchSize) {
+            List<T> chunk = entities.subList(start, Math.min(start + batchSize, entities.size()));
+            chunk.forEach(entityManager::persist);
+            entityManager.flush();
+            // Detach only this chunk so the caller's own managed entities are left alone
+            chunk.forEach(entityManager::detach);
+        }
+    }
+}
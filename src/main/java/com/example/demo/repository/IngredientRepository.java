@@ -1,11 +1,35 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Ingredient;
+import com.example.demo.repository.projection.NamedId;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
+public interface IngredientRepository extends JpaRepository<Ingredient, Long>, IngredientRepositoryCustom {
     Optional<Ingredient> findByNameIgnoreCase(String name);
+    
+    List<Ingredient> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<Ingredient> findByPrepTrue();
+    
+    // Row locks on every prep in id order, so concurrent prep graph edits serialize without deadlocking each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Ingredient i WHERE i.prep = true ORDER BY i.id")
+    List<Ingredient> lockAllPreps();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Ingredient> streamAllByOrderByIdAsc();
+    
+    @Query("SELECT i.id AS id, i.name AS name FROM Ingredient i")
+    List<NamedId> findAllNamedIds();
 }
\ No newline at end of file
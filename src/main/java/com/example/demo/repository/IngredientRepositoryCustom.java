@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Ingredient;
+import java.util.List;
+
+public interface IngredientRepositoryCustom {
+    void batchInsert(List<Ingredient> ingredients);
+}
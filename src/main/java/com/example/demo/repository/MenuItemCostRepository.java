@@ -0,0 +1,54 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MenuItemCost;
+import com.example.demo.repository.projection.CategoryMargin;
+import com.example.demo.repository.projection.CategoryMarginStats;
+import com.example.demo.repository.projection.MarginStats;
+import com.example.demo.repository.projection.MenuItemCostPrice;
+import com.example.demo.repository.projection.MenuItemMargin;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface MenuItemCostRepository extends JpaRepository<MenuItemCost, Long>, MenuItemCostRepositoryCustom {
+    
+    // Analytics run over the per-item snapshot (one row per menu item), never over the calculation history
+    @Query("SELECT COUNT(c) AS itemCount, MIN(c.profitMargin) AS minMargin, MAX(c.profitMargin) AS maxMargin, " +
+           "AVG(c.profitMargin) AS avgMargin, SUM(c.totalCost) AS totalCost, MIN(c.totalCost) AS minCost, " +
+           "MAX(c.totalCost) AS maxCost, AVG(c.totalCost) AS avgCost, SUM(c.sellingPrice) AS totalSellingPrice " +
+           "FROM MenuItemCost c JOIN MenuItem m ON m.id = c.menuItemId WHERE m.active = true")
+    MarginStats getActiveMenuStats();
+    
+    @Query("SELECT cat.id AS categoryId, cat.name AS categoryName, COUNT(c) AS itemCount, " +
+           "MIN(c.profitMargin) AS minMargin, MAX(c.profitMargin) AS maxMargin, AVG(c.profitMargin) AS avgMargin, " +
+           "SUM(c.totalCost) AS totalCost, MIN(c.totalCost) AS minCost, MAX(c.totalCost) AS maxCost, " +
+           "AVG(c.totalCost) AS avgCost, SUM(c.sellingPrice) AS totalSellingPrice " +
+           "FROM MenuItemCost c JOIN MenuItem m ON m.id = c.menuItemId JOIN m.categories cat " +
+           "WHERE m.active = true AND cat.active = true GROUP BY cat.id, cat.name ORDER BY cat.name")
+    List<CategoryMarginStats> getActiveCategoryStats();
+    
+    @Query("SELECT c.profitMargin FROM MenuItemCost c JOIN MenuItem m ON m.id = c.menuItemId " +
+           "WHERE m.active = true ORDER BY c.profitMargin")
+    List<Double> findActiveMarginsSorted();
+    
+    @Query("SELECT cat.id AS categoryId, c.profitMargin AS profitMargin " +
+           "FROM MenuItemCost c JOIN MenuItem m ON m.id = c.menuItemId JOIN m.categories cat " +
+           "WHERE m.active = true AND cat.active = true ORDER BY cat.id, c.profitMargin")
+    List<CategoryMargin> findActiveCategoryMarginsSorted();
+    
+    @Query("SELECT m.id AS menuItemId, m.name AS name, c.totalCost AS totalCost, c.profitMargin AS profitMargin " +
+           "FROM MenuItemCost c JOIN MenuItem m ON m.id = c.menuItemId WHERE m.active = true " +
+           "ORDER BY c.profitMargin ASC, m.id ASC")
+    List<MenuItemMargin> findLowestActiveMargins(Limit limit);
+    
+    @Query("SELECT m.id FROM MenuItem m WHERE m.active = true " +
+           "AND NOT EXISTS (SELECT c.menuItemId FROM MenuItemCost c WHERE c.menuItemId = m.id)")
+    List<Long> findActiveMenuItemIdsWithoutCost();
+    
+    @Query("SELECT m.id AS menuItemId, m.name AS name, m.sellingPrice AS sellingPrice, c.totalCost AS totalCost " +
+           "FROM MenuItemCost c JOIN MenuItem m ON m.id = c.menuItemId WHERE m.active = true ORDER BY m.id")
+    List<MenuItemCostPrice> findActiveCostsAndPrices();
+}
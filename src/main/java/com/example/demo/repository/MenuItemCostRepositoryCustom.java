@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MenuItemCost;
+import java.util.List;
+
+public interface MenuItemCostRepositoryCustom {
+    void upsertAll(List<MenuItemCost> costs);
+}
@@ -0,0 +1,48 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MenuItemCost;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class MenuItemCostRepositoryCustomImpl implements MenuItemCostRepositoryCustom {
+    
+    private static final String UNCHANGED =
+        "total_cost = VALUES(total_cost) AND selling_price = VALUES(selling_price) AND profit_margin = VALUES(profit_margin)";
+    
+    // One statement whether or not the row exists, so concurrent calculations of an item never hit a duplicate key or
+    // a stale version; the last one wins. The version only moves when a value actually changes, so a calculation that
+    // confirms the stored cost does not fail a concurrent optimistic write. Version is assigned first because MySQL
+    // evaluates the assignments left to right.
+    private static final String UPSERT_SQL =
+        "INSERT INTO menu_item_costs (menu_item_id, total_cost, selling_price, profit_margin, version, updated_at) " +
+        "VALUES (?, ?, ?, ?, 0, ?) ON DUPLICATE KEY UPDATE " +
+        "version = CASE WHEN " + UNCHANGED + " THEN version ELSE version + 1 END, " +
+        "updated_at = CASE WHEN " + UNCHANGED + " THEN updated_at ELSE VALUES(updated_at) END, " +
+        "total_cost = VALUES(total_cost), selling_price = VALUES(selling_price), profit_margin = VALUES(profit_margin)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    
+    public MenuItemCostRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                            @Value("${app.jdbc.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    @Transactional
+    public void upsertAll(List<MenuItemCost> costs) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, costs, batchSize, (ps, cost) -> {
+            ps.setLong(1, cost.getMenuItemId());
+            ps.setBigDecimal(2, cost.getTotalCost());
+            ps.setBigDecimal(3, cost.getSellingPrice());
+            ps.setDouble(4, cost.getProfitMargin());
+            ps.setTimestamp(5, now);
+        });
+    }
+}
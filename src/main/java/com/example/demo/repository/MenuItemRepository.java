@@ -1,16 +1,54 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.MenuItem;
+import com.example.demo.repository.projection.MenuItemCategoryLink;
+import com.example.demo.repository.projection.MenuItemPrice;
+import com.example.demo.repository.projection.NamedId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long>, MenuItemRepositoryCustom {
+    // Categories are fetched with the item so cached snapshots can be built outside the loading session
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    Optional<MenuItem> findById(Long id);
+    
+    @EntityGraph(attributePaths = "categories")
     Optional<MenuItem> findByNameIgnoreCase(String name);
     
+    List<MenuItem> findByActiveTrue();
+    List<MenuItem> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // Categories are serialized with every exported row, so they come in the same result set
+    @EntityGraph(attributePaths = "categories")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<MenuItem> streamAllByOrderByIdAsc();
+    
     @Query("SELECT DISTINCT m FROM MenuItem m LEFT JOIN FETCH m.categories WHERE m.active = true")
     List<MenuItem> findAllActiveWithCategories();
+    
+    @Query("SELECT DISTINCT m FROM MenuItem m LEFT JOIN FETCH m.categories WHERE m.active = true AND m.id IN :ids")
+    List<MenuItem> findAllActiveWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT m.id AS id, m.name AS name FROM MenuItem m")
+    List<NamedId> findAllNamedIds();
+    
+    @Query("SELECT m.id AS id, m.name AS name, m.sellingPrice AS sellingPrice FROM MenuItem m WHERE m.active = true ORDER BY m.id")
+    List<MenuItemPrice> findActivePrices();
+    
+    @Query("SELECT m.id AS menuItemId, c.id AS categoryId FROM MenuItem m JOIN m.categories c " +
+           "WHERE m.active = true AND c.active = true")
+    List<MenuItemCategoryLink> findActiveCategoryLinks();
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MenuItem;
+import java.util.List;
+
+public interface MenuItemRepositoryCustom {
+    void batchInsert(List<MenuItem> menuItems);
+}
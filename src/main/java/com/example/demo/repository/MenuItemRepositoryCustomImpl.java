@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MenuItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+public class MenuItemRepositoryCustomImpl implements MenuItemRepositoryCustom {
+    
+    private final int batchSize;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public MenuItemRepositoryCustomImpl(@Value("${app.jdbc.batch-size:500}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    @Transactional
+    public void batchInsert(List<MenuItem> menuItems) {
+        BatchPersistence.persistAll(entityManager, menuItems, batchSize);
+    }
+}
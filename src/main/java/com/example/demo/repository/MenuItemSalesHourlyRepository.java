@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MenuItemSalesHourly;
+import com.example.demo.entity.MenuItemSalesHourlyId;
+import com.example.demo.repository.projection.RealizedProfitLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MenuItemSalesHourlyRepository extends JpaRepository<MenuItemSalesHourly, MenuItemSalesHourlyId>,
+        MenuItemSalesHourlyRepositoryCustom {
+    
+    // Volumes in the window priced at the current selling price and the maintained per-item cost snapshot
+    @Query("SELECT s.menuItemId AS menuItemId, m.name AS name, SUM(s.quantity) AS quantity, " +
+           "m.sellingPrice AS sellingPrice, c.totalCost AS totalCost " +
+           "FROM MenuItemSalesHourly s JOIN MenuItem m ON m.id = s.menuItemId " +
+           "LEFT JOIN MenuItemCost c ON c.menuItemId = s.menuItemId " +
+           "WHERE s.hourStart >= :from AND s.hourStart < :to " +
+           "GROUP BY s.menuItemId, m.name, m.sellingPrice, c.totalCost ORDER BY s.menuItemId")
+    List<RealizedProfitLine> findRealizedProfitLines(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+import com.example.demo.repository.projection.SalesDelta;
+import java.util.List;
+
+public interface MenuItemSalesHourlyRepositoryCustom {
+    void addQuantities(List<SalesDelta> deltas);
+}
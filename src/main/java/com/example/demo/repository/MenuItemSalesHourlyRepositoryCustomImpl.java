@@ -0,0 +1,38 @@
+package com.example.demo.repository;
+
+import com.example.demo.repository.projection.SalesDelta;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class MenuItemSalesHourlyRepositoryCustomImpl implements MenuItemSalesHourlyRepositoryCustom {
+    
+    // Increments in the database, so concurrent flushes from several nodes add up instead of overwriting each other
+    private static final String UPSERT_SQL =
+        "INSERT INTO menu_item_sales_hourly (menu_item_id, hour_start, quantity, updated_at) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), updated_at = VALUES(updated_at)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    
+    public MenuItemSalesHourlyRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                                   @Value("${app.jdbc.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    @Transactional
+    public void addQuantities(List<SalesDelta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, batchSize, (ps, delta) -> {
+            ps.setLong(1, delta.menuItemId());
+            ps.setTimestamp(2, Timestamp.valueOf(delta.hourStart()));
+            ps.setLong(3, delta.quantity());
+            ps.setTimestamp(4, now);
+        });
+    }
+}
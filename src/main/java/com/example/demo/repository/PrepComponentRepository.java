@@ -0,0 +1,22 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.PrepComponent;
+import com.example.demo.repository.projection.PrepEdge;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface PrepComponentRepository extends JpaRepository<PrepComponent, Long> {
+    @EntityGraph(attributePaths = {"prep", "component"})
+    List<PrepComponent> findByPrepId(Long prepId);
+    
+    boolean existsByPrepIdAndComponentId(Long prepId, Long componentId);
+    
+    // The whole graph in one statement; prep graphs are small next to the recipe table
+    @Query("SELECT pc.prep.id AS prepId, c.id AS componentId, c.costPerUnit AS componentCost, pc.quantity AS quantity " +
+           "FROM PrepComponent pc JOIN pc.component c")
+    List<PrepEdge> findAllEdges();
+}
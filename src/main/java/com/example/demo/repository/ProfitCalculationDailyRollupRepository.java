@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.ProfitCalculationDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProfitCalculationDailyRollupRepository extends JpaRepository<ProfitCalculationDailyRollup, Long> {
+    List<ProfitCalculationDailyRollup> findByMenuItemIdInAndRollupDateBetween(Collection<Long> menuItemIds,
+                                                                              LocalDate from, LocalDate to);
+    
+    List<ProfitCalculationDailyRollup> findByMenuItemIdAndRollupDateBetweenOrderByRollupDateAsc(Long menuItemId,
+                                                                                                LocalDate from, LocalDate to);
+}
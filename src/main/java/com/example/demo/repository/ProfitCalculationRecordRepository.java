@@ -1,12 +1,70 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.ProfitCalculationRecord;
+import com.example.demo.repository.projection.CompactableRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProfitCalculationRecordRepository extends JpaRepository<ProfitCalculationRecord, Long> {
+public interface ProfitCalculationRecordRepository extends JpaRepository<ProfitCalculationRecord, Long>,
+                                                           ProfitCalculationRecordRepositoryCustom {
     List<ProfitCalculationRecord> findByMenuItemId(Long menuItemId);
     List<ProfitCalculationRecord> findByProfitMarginGreaterThanEqual(Double margin);
-}
\ No newline at end of file
+    List<ProfitCalculationRecord> findByProfitMarginBetween(Double min, Double max);
+    
+    @EntityGraph(attributePaths = "menuItem")
+    Page<ProfitCalculationRecord> findByProfitMarginBetween(Double min, Double max, Pageable pageable);
+    
+    // A record is the latest for its item when no newer one exists (ties on calculatedAt go to the higher id);
+    // both the lookup and the EXISTS probe walk idx_profit_records_item_calculated
+    String NEWER_FOR_SAME_ITEM = "EXISTS (SELECT 1 FROM ProfitCalculationRecord r2 WHERE r2.menuItem = r.menuItem " +
+                                 "AND (r2.calculatedAt > r.calculatedAt OR (r2.calculatedAt = r.calculatedAt AND r2.id > r.id)))";
+    String IS_LATEST_FOR_ITEM = "NOT " + NEWER_FOR_SAME_ITEM;
+    
+    @EntityGraph(attributePaths = "menuItem")
+    @Query(value = "SELECT r FROM ProfitCalculationRecord r WHERE r.profitMargin BETWEEN :min AND :max AND " + IS_LATEST_FOR_ITEM,
+           countQuery = "SELECT COUNT(r) FROM ProfitCalculationRecord r WHERE r.profitMargin BETWEEN :min AND :max AND " +
+                        IS_LATEST_FOR_ITEM)
+    Page<ProfitCalculationRecord> findLatestByProfitMarginBetween(@Param("min") Double min, @Param("max") Double max,
+                                                                  Pageable pageable);
+    
+    @EntityGraph(attributePaths = "menuItem")
+    Optional<ProfitCalculationRecord> findFirstByMenuItemIdOrderByCalculatedAtDescIdDesc(Long menuItemId);
+    
+    @EntityGraph(attributePaths = "menuItem")
+    @Query(value = "SELECT r FROM ProfitCalculationRecord r WHERE " + IS_LATEST_FOR_ITEM,
+           countQuery = "SELECT COUNT(r) FROM ProfitCalculationRecord r WHERE " + IS_LATEST_FOR_ITEM)
+    Page<ProfitCalculationRecord> findLatestPerMenuItem(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "menuItem")
+    List<ProfitCalculationRecord> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM ProfitCalculationRecord r JOIN FETCH r.menuItem m LEFT JOIN FETCH m.categories ORDER BY r.id")
+    Stream<ProfitCalculationRecord> streamAllWithMenuItem();
+    
+    // Each item's latest record is never compacted, so the latest-per-item views stay complete
+    @Query("SELECT r.id AS id, r.menuItem.id AS menuItemId, r.calculatedAt AS calculatedAt, " +
+           "r.profitMargin AS profitMargin, r.totalCost AS totalCost FROM ProfitCalculationRecord r " +
+           "WHERE r.calculatedAt < :cutoff AND " + NEWER_FOR_SAME_ITEM + " ORDER BY r.calculatedAt, r.id")
+    List<CompactableRecord> findCompactableBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+    
+    @Modifying
+    @Query("DELETE FROM ProfitCalculationRecord r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
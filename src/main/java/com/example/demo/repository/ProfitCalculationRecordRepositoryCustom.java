@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.ProfitCalculationRecord;
+import java.util.List;
+
+public interface ProfitCalculationRecordRepositoryCustom {
+    void batchInsert(List<ProfitCalculationRecord> records);
+}
@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.ProfitCalculationRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+public class ProfitCalculationRecordRepositoryCustomImpl implements ProfitCalculationRecordRepositoryCustom {
+    
+    private final int batchSize;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public ProfitCalculationRecordRepositoryCustomImpl(@Value("${app.jdbc.batch-size:500}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    @Transactional
+    public void batchInsert(List<ProfitCalculationRecord> records) {
+        BatchPersistence.persistAll(entityManager, records, batchSize);
+    }
+}
@@ -1,17 +1,82 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.RecipeIngredient;
+import com.example.demo.repository.projection.CatalogIngredientLine;
+import com.example.demo.repository.projection.IngredientDemand;
+import com.example.demo.repository.projection.MenuItemIngredientDemand;
+import com.example.demo.repository.projection.RecipeCostLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
+public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long>, RecipeIngredientRepositoryCustom {
     List<RecipeIngredient> findByMenuItemId(Long menuItemId);
+    
+    @EntityGraph(attributePaths = {"ingredient", "menuItem", "menuItem.categories"})
+    @Query("SELECT ri FROM RecipeIngredient ri WHERE ri.menuItem.id = :menuItemId")
+    List<RecipeIngredient> findWithIngredientAndMenuItemByMenuItemId(@Param("menuItemId") Long menuItemId);
+    
     boolean existsByMenuItemId(Long menuItemId);
     
     @Query("SELECT COALESCE(SUM(ri.quantity), 0.0) FROM RecipeIngredient ri WHERE ri.ingredient.id = :ingredientId")
     Double getTotalQuantityByIngredientId(@Param("ingredientId") Long ingredientId);
-}
\ No newline at end of file
+    
+    @Query("SELECT ri.menuItem.id AS menuItemId, i.id AS ingredientId, i.costPerUnit AS costPerUnit, ri.quantity AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.menuItem.id = :menuItemId")
+    List<RecipeCostLine> findCostLinesByMenuItemId(@Param("menuItemId") Long menuItemId);
+    
+    @Query("SELECT ri.menuItem.id AS menuItemId, i.id AS ingredientId, i.costPerUnit AS costPerUnit, ri.quantity AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.menuItem.id IN :menuItemIds")
+    List<RecipeCostLine> findCostLinesByMenuItemIds(@Param("menuItemIds") Collection<Long> menuItemIds);
+    
+    @Query("SELECT ri.menuItem.id AS menuItemId, i.id AS ingredientId, i.costPerUnit AS costPerUnit, ri.quantity AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.menuItem.active = true")
+    List<RecipeCostLine> findCostLinesForActiveMenuItems();
+    
+    @Query("SELECT ri.menuItem.id AS menuItemId, i.id AS ingredientId, i.costPerUnit AS costPerUnit, ri.quantity AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE i.id = :ingredientId")
+    List<RecipeCostLine> findCostLinesByIngredientId(@Param("ingredientId") Long ingredientId);
+    
+    @Query("SELECT ri.menuItem.id AS menuItemId, i.id AS ingredientId, i.name AS name, i.unit AS unit, ri.quantity AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.menuItem.active = true ORDER BY ri.id")
+    List<CatalogIngredientLine> findCatalogLinesForActiveMenuItems();
+    
+    @Query("SELECT ri.menuItem.id AS menuItemId, i.id AS ingredientId, i.name AS name, i.unit AS unit, ri.quantity AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.menuItem.id IN :menuItemIds ORDER BY ri.id")
+    List<CatalogIngredientLine> findCatalogLinesByMenuItemIds(@Param("menuItemIds") Collection<Long> menuItemIds);
+    
+    // Demand queries aggregate in the database and stream projection rows; no RecipeIngredient is hydrated
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i.id AS ingredientId, i.name AS name, i.unit AS unit, SUM(ri.quantity) AS totalQuantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i GROUP BY i.id, i.name, i.unit ORDER BY i.id")
+    Stream<IngredientDemand> streamIngredientDemand();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i.id AS ingredientId, i.name AS name, i.unit AS unit, SUM(ri.quantity) AS totalQuantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE i.id IN :ingredientIds " +
+           "GROUP BY i.id, i.name, i.unit ORDER BY i.id")
+    Stream<IngredientDemand> streamIngredientDemand(@Param("ingredientIds") Collection<Long> ingredientIds);
+    
+    // One row per ingredient and menu item, ordered by ingredient so the caller can weight and fold them in one pass
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i.id AS ingredientId, i.name AS name, i.unit AS unit, ri.menuItem.id AS menuItemId, SUM(ri.quantity) AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.menuItem.id IN :menuItemIds " +
+           "GROUP BY i.id, i.name, i.unit, ri.menuItem.id ORDER BY i.id")
+    Stream<MenuItemIngredientDemand> streamIngredientDemandByMenuItem(@Param("menuItemIds") Collection<Long> menuItemIds);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i.id AS ingredientId, i.name AS name, i.unit AS unit, ri.menuItem.id AS menuItemId, SUM(ri.quantity) AS quantity " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.menuItem.id IN :menuItemIds AND i.id IN :ingredientIds " +
+           "GROUP BY i.id, i.name, i.unit, ri.menuItem.id ORDER BY i.id")
+    Stream<MenuItemIngredientDemand> streamIngredientDemandByMenuItem(@Param("menuItemIds") Collection<Long> menuItemIds,
+                                                                      @Param("ingredientIds") Collection<Long> ingredientIds);
+}
@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.RecipeIngredient;
+import java.util.List;
+
+public interface RecipeIngredientRepositoryCustom {
+    void batchInsert(List<RecipeIngredient> recipeIngredients);
+}
@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.RecipeIngredient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+public class RecipeIngredientRepositoryCustomImpl implements RecipeIngredientRepositoryCustom {
+    
+    private final int batchSize;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public RecipeIngredientRepositoryCustomImpl(@Value("${app.jdbc.batch-size:500}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    @Transactional
+    public void batchInsert(List<RecipeIngredient> recipeIngredients) {
+        BatchPersistence.persistAll(entityManager, recipeIngredients, batchSize);
+    }
+}
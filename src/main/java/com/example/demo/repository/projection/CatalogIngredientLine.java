@@ -0,0 +1,9 @@
+package com.example.demo.repository.projection;
+
+public interface CatalogIngredientLine {
+    Long getMenuItemId();
+    Long getIngredientId();
+    String getName();
+    String getUnit();
+    Double getQuantity();
+}
@@ -0,0 +1,6 @@
+package com.example.demo.repository.projection;
+
+public interface CategoryMargin {
+    Long getCategoryId();
+    Double getProfitMargin();
+}
@@ -0,0 +1,6 @@
+package com.example.demo.repository.projection;
+
+public interface CategoryMarginStats extends MarginStats {
+    Long getCategoryId();
+    String getCategoryName();
+}
@@ -0,0 +1,12 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface CompactableRecord {
+    Long getId();
+    Long getMenuItemId();
+    LocalDateTime getCalculatedAt();
+    Double getProfitMargin();
+    BigDecimal getTotalCost();
+}
@@ -0,0 +1,8 @@
+package com.example.demo.repository.projection;
+
+public interface IngredientDemand {
+    Long getIngredientId();
+    String getName();
+    String getUnit();
+    Double getTotalQuantity();
+}
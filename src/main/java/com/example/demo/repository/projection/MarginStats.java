@@ -0,0 +1,15 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface MarginStats {
+    Long getItemCount();
+    Double getMinMargin();
+    Double getMaxMargin();
+    Double getAvgMargin();
+    BigDecimal getTotalCost();
+    BigDecimal getMinCost();
+    BigDecimal getMaxCost();
+    Double getAvgCost();
+    BigDecimal getTotalSellingPrice();
+}
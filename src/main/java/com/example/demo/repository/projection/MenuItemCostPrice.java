@@ -0,0 +1,10 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface MenuItemCostPrice {
+    Long getMenuItemId();
+    String getName();
+    BigDecimal getSellingPrice();
+    BigDecimal getTotalCost();
+}
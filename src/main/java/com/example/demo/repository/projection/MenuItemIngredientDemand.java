@@ -0,0 +1,9 @@
+package com.example.demo.repository.projection;
+
+public interface MenuItemIngredientDemand {
+    Long getIngredientId();
+    String getName();
+    String getUnit();
+    Long getMenuItemId();
+    Double getQuantity();
+}
@@ -0,0 +1,10 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface MenuItemMargin {
+    Long getMenuItemId();
+    String getName();
+    BigDecimal getTotalCost();
+    Double getProfitMargin();
+}
@@ -0,0 +1,9 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface MenuItemPrice {
+    Long getId();
+    String getName();
+    BigDecimal getSellingPrice();
+}
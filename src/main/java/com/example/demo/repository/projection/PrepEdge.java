@@ -0,0 +1,10 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface PrepEdge {
+    Long getPrepId();
+    Long getComponentId();
+    BigDecimal getComponentCost();
+    Double getQuantity();
+}
@@ -0,0 +1,11 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface RealizedProfitLine {
+    Long getMenuItemId();
+    String getName();
+    Long getQuantity();
+    BigDecimal getSellingPrice();
+    BigDecimal getTotalCost();
+}
@@ -0,0 +1,10 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface RecipeCostLine {
+    Long getMenuItemId();
+    Long getIngredientId();
+    BigDecimal getCostPerUnit();
+    Double getQuantity();
+}
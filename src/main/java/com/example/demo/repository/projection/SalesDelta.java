@@ -0,0 +1,7 @@
+package com.example.demo.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Units sold since the last flush for one menu item and hour
+public record SalesDelta(Long menuItemId, LocalDateTime hourStart, long quantity) {
+}
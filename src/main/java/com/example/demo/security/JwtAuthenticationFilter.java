@@ -1,27 +1,35 @@
 package com.example.demo.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
+    // Roles are few, so their authority lists are shared across requests
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
     
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, TokenRevocationRegistry revocationRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.revocationRegistry = revocationRegistry;
     }
     
     @Override
@@ -30,10 +38,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         String token = getTokenFromRequest(request);
         
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            
+        Claims claims = token != null ? jwtTokenProvider.parseClaims(token) : null;
+        // The signing key is generated at startup, so every verifiable token carries the stateless claims
+        UserDetails userDetails = claims != null && hasStatelessClaims(claims) ? principalFromClaims(claims) : null;
+        
+        if (userDetails != null) {
             UsernamePasswordAuthenticationToken authentication = 
                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -44,6 +53,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private boolean hasStatelessClaims(Claims claims) {
+        return claims.get(JwtTokenProvider.CLAIM_USER_ID) != null
+            && claims.get(JwtTokenProvider.CLAIM_TOKEN_VERSION) != null
+            && claims.get(JwtTokenProvider.CLAIM_ROLE) != null;
+    }
+    
+    // Builds the principal from the verified token alone; returns null for inactive or revoked tokens
+    private UserDetails principalFromClaims(Claims claims) {
+        if (Boolean.FALSE.equals(claims.get(JwtTokenProvider.CLAIM_ACTIVE, Boolean.class))) {
+            return null;
+        }
+        Long userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class);
+        Long tokenVersion = claims.get(JwtTokenProvider.CLAIM_TOKEN_VERSION, Long.class);
+        if (revocationRegistry.isRevoked(userId, tokenVersion)) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = authoritiesByRole.computeIfAbsent(
+            claims.get(JwtTokenProvider.CLAIM_ROLE, String.class),
+            role -> List.of(new SimpleGrantedAuthority(role)));
+        return new User(claims.getSubject(), "", authorities);
+    }
+    
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
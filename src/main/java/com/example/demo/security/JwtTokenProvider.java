@@ -1,6 +1,8 @@
 package com.example.demo.security;
 
 import com.example.demo.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -12,17 +14,25 @@ import java.util.Date;
 @Component
 public class JwtTokenProvider {
     
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_ACTIVE = "active";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    
     private final SecretKey key;
     private final long validityInMs;
+    private final JwtParser parser;
     
     public JwtTokenProvider() {
         this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         this.validityInMs = 86400000; // 24 hours
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
     
     public JwtTokenProvider(String secret, long validityInMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.validityInMs = validityInMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
     
     public String generateToken(Authentication authentication, User user) {
@@ -31,6 +41,10 @@ public class JwtTokenProvider {
         
         return Jwts.builder()
                 .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_ACTIVE, user.getActive())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion() != null ? user.getTokenVersion() : 0L)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key)
@@ -38,20 +52,19 @@ public class JwtTokenProvider {
     }
     
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
     
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+    
+    // Verifies the token and returns its claims in a single parse, or null when it is invalid or expired
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 }
\ No newline at end of file
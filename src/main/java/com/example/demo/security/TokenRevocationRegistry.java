@@ -0,0 +1,54 @@
+package com.example.demo.security;
+
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.UserTokenVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory copy of the per-user token versions, so verifying a token never needs the database
+@Component
+public class TokenRevocationRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+    
+    private final UserRepository userRepository;
+    // Only users that ever had tokens revoked are present; everyone else is implicitly at version 0
+    private final ConcurrentHashMap<Long, Long> minimumVersions = new ConcurrentHashMap<>();
+    
+    public TokenRevocationRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    public boolean isRevoked(Long userId, long tokenVersion) {
+        Long minimum = minimumVersions.get(userId);
+        return minimum != null && tokenVersion < minimum;
+    }
+    
+    public void revokeBefore(Long userId, long tokenVersion) {
+        minimumVersions.merge(userId, tokenVersion, Math::max);
+    }
+    
+    public int size() {
+        return minimumVersions.size();
+    }
+    
+    // Picks up revocations made on other nodes; a failed refresh keeps serving the last known state
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-ms:30000}",
+               initialDelayString = "${app.security.revocation.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            for (UserTokenVersion version : userRepository.findRevokedTokenVersions()) {
+                revokeBefore(version.getId(), version.getTokenVersion());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh token revocations: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Side effects that must only follow a committed write: cache evictions, snapshot invalidation, catalog refreshes
+public final class AfterCommit {
+    
+    private AfterCommit() {
+    }
+    
+    // Runs once the current transaction commits, or right away when there is none; a rollback drops it
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ImportFormat;
+import com.example.demo.dto.ImportResult;
+import java.io.Reader;
+
+public interface BulkImportService {
+    ImportResult importIngredients(Reader reader, ImportFormat format);
+    ImportResult importMenuItems(Reader reader, ImportFormat format);
+    ImportResult importRecipeIngredients(Reader reader, ImportFormat format);
+}
@@ -2,11 +2,14 @@ package com.example.demo.service;
 
 import com.example.demo.entity.Category;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CategoryService {
     Category createCategory(Category category);
     Category updateCategory(Long id, Category category);
     Category getCategoryById(Long id);
     List<Category> getAllCategories();
+    List<Category> getCategoriesAfter(Long afterId, int limit);
+    void streamAllCategories(Consumer<Category> consumer);
     void deactivateCategory(Long id);
 }
\ No newline at end of file
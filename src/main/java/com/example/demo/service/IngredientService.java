@@ -2,11 +2,14 @@ package com.example.demo.service;
 
 import com.example.demo.entity.Ingredient;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IngredientService {
     Ingredient createIngredient(Ingredient ingredient);
     Ingredient updateIngredient(Long id, Ingredient ingredient);
     Ingredient getIngredientById(Long id);
     List<Ingredient> getAllIngredients();
+    List<Ingredient> getIngredientsAfter(Long afterId, int limit);
+    void streamAllIngredients(Consumer<Ingredient> consumer);
     void deactivateIngredient(Long id);
 }
\ No newline at end of file
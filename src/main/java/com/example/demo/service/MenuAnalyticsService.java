@@ -0,0 +1,7 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MenuAnalyticsResponse;
+
+public interface MenuAnalyticsService {
+    MenuAnalyticsResponse getMenuAnalytics(int lowestMarginLimit);
+}
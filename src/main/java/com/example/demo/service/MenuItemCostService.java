@@ -0,0 +1,18 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.MenuItemCost;
+import com.example.demo.entity.ProfitCalculationRecord;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface MenuItemCostService {
+    MenuItemCost getCurrentCost(Long menuItemId);
+    List<MenuItemCost> getAllCurrentCosts();
+    void recordCalculations(List<ProfitCalculationRecord> records);
+    void applyRecipeChange(Long menuItemId, BigDecimal costDelta);
+    void applyIngredientPriceChange(Long ingredientId, BigDecimal previousCost, BigDecimal newCost);
+    void applySellingPriceChange(Long menuItemId, BigDecimal sellingPrice);
+    void refreshCosts(Collection<Long> menuItemIds);
+    int backfillMissingCosts();
+}
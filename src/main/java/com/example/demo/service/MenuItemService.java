@@ -1,12 +1,17 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.MenuCatalogItem;
 import com.example.demo.entity.MenuItem;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MenuItemService {
     MenuItem createMenuItem(MenuItem menuItem);
     MenuItem updateMenuItem(Long id, MenuItem menuItem);
     MenuItem getMenuItemById(Long id);
     List<MenuItem> getAllMenuItems();
+    List<MenuCatalogItem> getMenuCatalog();
+    List<MenuItem> getMenuItemsAfter(Long afterId, int limit);
+    void streamAllMenuItems(Consumer<MenuItem> consumer);
     void deactivateMenuItem(Long id);
 }
\ No newline at end of file
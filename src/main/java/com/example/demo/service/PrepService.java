@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.PrepComponent;
+import java.util.List;
+
+public interface PrepService {
+    Ingredient createPrep(Ingredient prep);
+    List<Ingredient> getAllPreps();
+    Ingredient updateYield(Long prepId, Double yieldQuantity);
+    PrepComponent addComponent(Long prepId, PrepComponent component);
+    PrepComponent updateComponent(Long id, Double quantity);
+    void removeComponent(Long id);
+    List<PrepComponent> getComponents(Long prepId);
+    void onIngredientCostChanged(Long ingredientId);
+    int recalculateAll();
+}
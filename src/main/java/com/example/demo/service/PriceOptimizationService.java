@@ -0,0 +1,8 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PriceOptimizationRequest;
+import com.example.demo.dto.PriceOptimizationResponse;
+
+public interface PriceOptimizationService {
+    PriceOptimizationResponse optimize(PriceOptimizationRequest request);
+}
@@ -1,12 +1,25 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.WriteBehindStatsResponse;
 import com.example.demo.entity.ProfitCalculationRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProfitCalculationService {
     ProfitCalculationRecord calculateProfit(Long menuItemId);
+    List<ProfitCalculationRecord> calculateProfitBatch(Collection<Long> menuItemIds);
+    List<ProfitCalculationRecord> calculateProfitForAllActive();
     ProfitCalculationRecord getCalculationById(Long id);
     List<ProfitCalculationRecord> getCalculationsForMenuItem(Long menuItemId);
+    ProfitCalculationRecord getLatestCalculationForMenuItem(Long menuItemId);
+    Page<ProfitCalculationRecord> getLatestCalculations(Pageable pageable);
     List<ProfitCalculationRecord> getAllCalculations();
+    List<ProfitCalculationRecord> getCalculationsAfter(Long afterId, int limit);
+    void streamAllCalculations(Consumer<ProfitCalculationRecord> consumer);
     List<ProfitCalculationRecord> findRecordsWithMarginBetween(Double min, Double max);
+    Page<ProfitCalculationRecord> findRecordsWithMarginBetween(Double min, Double max, boolean latestOnly, Pageable pageable);
+    WriteBehindStatsResponse getWriteBehindStats();
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.ProfitCalculationDailyRollup;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProfitHistoryService {
+    int compactHistory();
+    List<ProfitCalculationDailyRollup> getDailyRollups(Long menuItemId, LocalDate from, LocalDate to);
+}
@@ -1,7 +1,10 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.IngredientDemandRequest;
+import com.example.demo.dto.IngredientDemandResponse;
 import com.example.demo.entity.RecipeIngredient;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RecipeIngredientService {
     RecipeIngredient addIngredientToMenuItem(RecipeIngredient recipeIngredient);
@@ -9,4 +12,5 @@ public interface RecipeIngredientService {
     List<RecipeIngredient> getIngredientsByMenuItem(Long menuItemId);
     void removeIngredientFromRecipe(Long id);
     Double getTotalQuantityOfIngredient(Long ingredientId);
+    void streamIngredientDemand(IngredientDemandRequest request, Consumer<IngredientDemandResponse> consumer);
 }
\ No newline at end of file
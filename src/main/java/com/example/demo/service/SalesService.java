@@ -0,0 +1,13 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RealizedProfitResponse;
+import com.example.demo.dto.SalesCounterStatsResponse;
+import com.example.demo.dto.SalesEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SalesService {
+    int recordSales(List<SalesEvent> events);
+    RealizedProfitResponse getRealizedProfit(LocalDateTime from, LocalDateTime to);
+    SalesCounterStatsResponse getCounterStats();
+}
@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SimulationRequest;
+import com.example.demo.dto.SimulationResponse;
+import com.example.demo.dto.SweepRequest;
+import com.example.demo.dto.SweepResponse;
+
+public interface SimulationService {
+    SimulationResponse simulate(SimulationRequest request);
+    SweepResponse sweep(SweepRequest request);
+}
@@ -6,4 +6,6 @@ import com.example.demo.entity.User;
 public interface UserService {
     User register(RegisterRequest request);
     User findByEmailIgnoreCase(String email);
+    User changeRole(Long id, String role);
+    void deactivateUser(Long id);
 }
\ No newline at end of file
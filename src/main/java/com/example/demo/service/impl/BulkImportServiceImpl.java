@@ -0,0 +1,232 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.catalog.MenuCatalog;
+import com.example.demo.dto.ImportFormat;
+import com.example.demo.dto.ImportResult;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.MenuItem;
+import com.example.demo.entity.RecipeIngredient;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.repository.IngredientRepository;
+import com.example.demo.repository.MenuItemRepository;
+import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.repository.projection.NamedId;
+import com.example.demo.service.BulkImportService;
+import com.example.demo.service.MenuItemCostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+    
+    private final IngredientRepository ingredientRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final MenuItemCostService menuItemCostService;
+    private final MenuCatalog menuCatalog;
+    private final ImportRecordReader recordReader;
+    private final int batchSize;
+    
+    public BulkImportServiceImpl(IngredientRepository ingredientRepository,
+                                 MenuItemRepository menuItemRepository,
+                                 RecipeIngredientRepository recipeIngredientRepository,
+                                 MenuItemCostService menuItemCostService,
+                                 MenuCatalog menuCatalog,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.import.batch-size:1000}") int batchSize) {
+        this.ingredientRepository = ingredientRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.menuItemCostService = menuItemCostService;
+        this.menuCatalog = menuCatalog;
+        this.recordReader = new ImportRecordReader(objectMapper);
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    public ImportResult importIngredients(Reader reader, ImportFormat format) {
+        Set<String> names = normalizedNames(ingredientRepository.findAllNamedIds());
+        ImportResult result = new ImportResult();
+        Batch<Ingredient> batch = new Batch<>(ingredientRepository::batchInsert, result);
+        LocalDateTime now = LocalDateTime.now();
+        
+        recordReader.read(reader, format, (lineNumber, fields) -> {
+            try {
+                String name = ImportRecordReader.required(fields, "name");
+                BigDecimal costPerUnit = decimal(fields, "costPerUnit");
+                if (costPerUnit.compareTo(BigDecimal.ZERO) <= 0) {
+                    throw new BadRequestException("Cost per unit must be greater than 0");
+                }
+                if (!names.add(normalize(name))) {
+                    throw new BadRequestException("Ingredient with this name already exists");
+                }
+                
+                Ingredient ingredient = new Ingredient();
+                ingredient.setName(name);
+                ingredient.setUnit(fields.get("unit"));
+                ingredient.setCostPerUnit(costPerUnit);
+                ingredient.setActive(true);
+                ingredient.setCreatedAt(now);
+                ingredient.setUpdatedAt(now);
+                batch.add(lineNumber, ingredient);
+            } catch (BadRequestException e) {
+                result.addSkipped(lineNumber, e.getMessage());
+            }
+        });
+        batch.flush();
+        return result;
+    }
+    
+    @Override
+    public ImportResult importMenuItems(Reader reader, ImportFormat format) {
+        Set<String> names = normalizedNames(menuItemRepository.findAllNamedIds());
+        ImportResult result = new ImportResult();
+        Batch<MenuItem> batch = new Batch<>(menuItemRepository::batchInsert, result);
+        LocalDateTime now = LocalDateTime.now();
+        
+        recordReader.read(reader, format, (lineNumber, fields) -> {
+            try {
+                String name = ImportRecordReader.required(fields, "name");
+                BigDecimal sellingPrice = decimal(fields, "sellingPrice");
+                if (sellingPrice.compareTo(BigDecimal.ZERO) <= 0) {
+                    throw new BadRequestException("Selling price must be greater than 0");
+                }
+                if (!names.add(normalize(name))) {
+                    throw new BadRequestException("Menu item with this name already exists");
+                }
+                
+                MenuItem menuItem = new MenuItem();
+                menuItem.setName(name);
+                menuItem.setDescription(fields.get("description"));
+                menuItem.setSellingPrice(sellingPrice);
+                menuItem.setActive(true);
+                menuItem.setCreatedAt(now);
+                menuItem.setUpdatedAt(now);
+                batch.add(lineNumber, menuItem);
+            } catch (BadRequestException e) {
+                result.addSkipped(lineNumber, e.getMessage());
+            }
+        });
+        batch.flush();
+        // Imported items are active straight away but bypass the menu item service
+        menuCatalog.refreshAll();
+        return result;
+    }
+    
+    @Override
+    public ImportResult importRecipeIngredients(Reader reader, ImportFormat format) {
+        Map<String, Long> menuItemIds = idsByName(menuItemRepository.findAllNamedIds());
+        Map<String, Long> ingredientIds = idsByName(ingredientRepository.findAllNamedIds());
+        Set<Long> affectedMenuItemIds = new HashSet<>();
+        ImportResult result = new ImportResult();
+        Batch<RecipeIngredient> batch = new Batch<>(recipeIngredientRepository::batchInsert, result);
+        
+        recordReader.read(reader, format, (lineNumber, fields) -> {
+            try {
+                Long menuItemId = menuItemIds.get(normalize(ImportRecordReader.required(fields, "menuItemName")));
+                if (menuItemId == null) {
+                    throw new BadRequestException("Menu item not found");
+                }
+                Long ingredientId = ingredientIds.get(normalize(ImportRecordReader.required(fields, "ingredientName")));
+                if (ingredientId == null) {
+                    throw new BadRequestException("Ingredient not found");
+                }
+                double quantity = decimal(fields, "quantity").doubleValue();
+                if (quantity <= 0) {
+                    throw new BadRequestException("Quantity must be greater than 0");
+                }
+                
+                MenuItem menuItem = new MenuItem();
+                menuItem.setId(menuItemId);
+                Ingredient ingredient = new Ingredient();
+                ingredient.setId(ingredientId);
+                RecipeIngredient recipeIngredient = new RecipeIngredient();
+                recipeIngredient.setMenuItem(menuItem);
+                recipeIngredient.setIngredient(ingredient);
+                recipeIngredient.setQuantity(quantity);
+                batch.add(lineNumber, recipeIngredient);
+                affectedMenuItemIds.add(menuItemId);
+            } catch (BadRequestException e) {
+                result.addSkipped(lineNumber, e.getMessage());
+            }
+        });
+        batch.flush();
+        
+        // Imported lines bypass the recipe service, so the cost snapshots are rebuilt once at the end
+        menuItemCostService.refreshCosts(affectedMenuItemIds);
+        return result;
+    }
+    
+    private static BigDecimal decimal(Map<String, String> fields, String name) {
+        try {
+            return new BigDecimal(ImportRecordReader.required(fields, name));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Field '" + name + "' must be a number");
+        }
+    }
+    
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static Set<String> normalizedNames(List<NamedId> namedIds) {
+        Set<String> names = new HashSet<>(namedIds.size() * 2);
+        namedIds.forEach(namedId -> names.add(normalize(namedId.getName())));
+        return names;
+    }
+    
+    private static Map<String, Long> idsByName(List<NamedId> namedIds) {
+        Map<String, Long> ids = new HashMap<>(namedIds.size() * 2);
+        namedIds.forEach(namedId -> ids.put(normalize(namedId.getName()), namedId.getId()));
+        return ids;
+    }
+    
+    // Buffers validated rows and writes them with one JDBC batch per batchSize rows
+    private class Batch<T> {
+        private final Consumer<List<T>> writer;
+        private final ImportResult result;
+        private final List<T> rows = new ArrayList<>();
+        private long firstLineNumber;
+        
+        Batch(Consumer<List<T>> writer, ImportResult result) {
+            this.writer = writer;
+            this.result = result;
+        }
+        
+        void add(long lineNumber, T row) {
+            if (rows.isEmpty()) {
+                firstLineNumber = lineNumber;
+            }
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                writer.accept(rows);
+                result.addImported(rows.size());
+            } catch (DataAccessException e) {
+                result.addFailedBatch(firstLineNumber, rows.size(), e.getMostSpecificCause().getMessage());
+            }
+            rows.clear();
+        }
+    }
+}
@@ -1,25 +1,45 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.cache.CacheNames;
+import com.example.demo.cache.CategorySnapshot;
+import com.example.demo.cache.ReferenceDataLookup;
+import com.example.demo.catalog.MenuCatalog;
 import com.example.demo.entity.Category;
 import com.example.demo.exception.BadRequestException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.CategoryRepository;
 import com.example.demo.service.CategoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final MenuCatalog menuCatalog;
+    private final ReferenceDataLookup referenceDataLookup;
     
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public CategoryServiceImpl(CategoryRepository categoryRepository, MenuCatalog menuCatalog,
+                               ReferenceDataLookup referenceDataLookup) {
         this.categoryRepository = categoryRepository;
+        this.menuCatalog = menuCatalog;
+        this.referenceDataLookup = referenceDataLookup;
     }
     
     @Override
     public Category createCategory(Category category) {
-        if (categoryRepository.findByNameIgnoreCase(category.getName()).isPresent()) {
+        if (referenceDataLookup.findCategoryIdByName(category.getName()) != null) {
             throw new BadRequestException("Category with this name already exists");
         }
         category.setActive(true);
@@ -27,6 +47,12 @@ public class CategoryServiceImpl implements CategoryService {
     }
     
     @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.CATEGORIES, key = "#id"),
+        @CacheEvict(cacheNames = CacheNames.CATEGORIES_BY_NAME, allEntries = true),
+        @CacheEvict(cacheNames = {CacheNames.MENU_ITEMS, CacheNames.MENU_ITEMS_BY_NAME}, allEntries = true)
+    })
     public Category updateCategory(Long id, Category updated) {
         Category existing = categoryRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
@@ -35,12 +61,15 @@ public class CategoryServiceImpl implements CategoryService {
         existing.setDescription(updated.getDescription());
         existing.setActive(updated.getActive());
         
-        return categoryRepository.save(existing);
+        Category saved = categoryRepository.save(existing);
+        refreshCatalog();
+        return saved;
     }
     
     @Override
     public Category getCategoryById(Long id) {
-        return categoryRepository.findById(id)
+        return Optional.ofNullable(referenceDataLookup.findCategory(id))
+            .map(CategorySnapshot::toEntity)
             .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
     }
     
@@ -50,9 +79,33 @@ public class CategoryServiceImpl implements CategoryService {
     }
     
     @Override
+    public List<Category> getCategoriesAfter(Long afterId, int limit) {
+        return categoryRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCategories(Consumer<Category> consumer) {
+        EntityStreams.forEachDetached(entityManager, categoryRepository.streamAllByOrderByIdAsc(), consumer);
+    }
+    
+    @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.CATEGORIES, key = "#id"),
+        @CacheEvict(cacheNames = CacheNames.CATEGORIES_BY_NAME, allEntries = true),
+        @CacheEvict(cacheNames = {CacheNames.MENU_ITEMS, CacheNames.MENU_ITEMS_BY_NAME}, allEntries = true)
+    })
     public void deactivateCategory(Long id) {
-        Category category = getCategoryById(id);
+        Category category = categoryRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         category.setActive(false);
         categoryRepository.save(category);
+        refreshCatalog();
+    }
+    
+    // Category renames and deactivations can touch any number of items, so the whole catalog is reloaded
+    private void refreshCatalog() {
+        menuCatalog.refreshAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.demo.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Recipe cost arithmetic on scaled longs. Prices and quantities are read as micro-units (scale 6), so every line cost
+// is exact at scale 12 and a BigDecimal is only built once per total. Values that do not fit (more decimals, very
+// large magnitudes, long overflow) fall back to the BigDecimal arithmetic, so totals, scales and margins are
+// identical to costPerUnit.multiply(BigDecimal.valueOf(quantity)) summed and divided with HALF_UP.
+final class CostKernel {
+    
+    static final int SCALE = 6;
+    static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+    
+    private static final long MICROS = 1_000_000L;
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+        1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L
+    };
+    
+    private CostKernel() {
+    }
+    
+    // At most 6 decimals and 9 integer digits, so doubleValue() is exact enough to round back to the unscaled value
+    static long toMicros(BigDecimal value) {
+        if (value.scale() < 0 || value.scale() > SCALE || value.precision() - value.scale() > 9) {
+            return NOT_REPRESENTABLE;
+        }
+        return Math.round(value.doubleValue() * MICROS);
+    }
+    
+    // Within this range Double.toString, and therefore BigDecimal.valueOf, prints the plain shortest decimal
+    static long quantityToMicros(double quantity) {
+        double magnitude = Math.abs(quantity);
+        if (quantity != 0 && (magnitude < 1e-3 || magnitude >= 1e7)) {
+            return NOT_REPRESENTABLE;
+        }
+        long micros = Math.round(quantity * MICROS);
+        return micros / (double) MICROS == quantity ? micros : NOT_REPRESENTABLE;
+    }
+    
+    // Scale of BigDecimal.valueOf(quantity), which always keeps at least one decimal ("2.0")
+    static int quantityScale(long quantityMicros) {
+        int scale = SCALE;
+        while (scale > 1 && quantityMicros % 10 == 0) {
+            quantityMicros /= 10;
+            scale--;
+        }
+        return scale;
+    }
+    
+    static Double profitMargin(BigDecimal sellingPrice, BigDecimal totalCost) {
+        long priceMicros = toMicros(sellingPrice);
+        long costMicros = toMicros(totalCost);
+        if (priceMicros != NOT_REPRESENTABLE && costMicros != NOT_REPRESENTABLE) {
+            Double margin = profitMargin(priceMicros, costMicros, 1);
+            if (margin != null) {
+                return margin;
+            }
+        }
+        return exactProfitMargin(sellingPrice, totalCost);
+    }
+    
+    // (price - cost) / price rounded HALF_UP to 4 places, as a percentage; null on overflow or a zero price.
+    // costUnitsPerMicro is 1 for a cost in micro-units and 10^6 for an accumulated scale-12 total.
+    private static Double profitMargin(long priceMicros, long cost, long costUnitsPerMicro) {
+        if (priceMicros == 0) {
+            return null;
+        }
+        try {
+            long profit = Math.subtractExact(Math.multiplyExact(priceMicros, costUnitsPerMicro), cost);
+            long numerator = costUnitsPerMicro >= 10_000 ? profit : Math.multiplyExact(profit, 10_000 / costUnitsPerMicro);
+            long divisor = costUnitsPerMicro >= 10_000 ? Math.multiplyExact(priceMicros, costUnitsPerMicro / 10_000) : priceMicros;
+            long ratio = numerator / divisor;
+            long remainder = numerator % divisor;
+            if (2 * Math.abs(remainder) >= Math.abs(divisor)) {
+                ratio += Long.signum(numerator) * Long.signum(divisor);
+            }
+            return ratio / 100.0;
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+    
+    private static Double exactProfitMargin(BigDecimal sellingPrice, BigDecimal totalCost) {
+        BigDecimal profit = sellingPrice.subtract(totalCost);
+        return profit.divide(sellingPrice, 4, RoundingMode.HALF_UP)
+            .multiply(BigDecimal.valueOf(100)).doubleValue();
+    }
+    
+    // Running sum of cost * quantity lines; switches to BigDecimal for good once a line does not fit
+    static final class Accumulator {
+        
+        // Scale 12: micro-units times micro-units
+        private long total;
+        private int scale;
+        private BigDecimal exactTotal;
+        
+        void add(BigDecimal costPerUnit, Double quantity) {
+            if (exactTotal == null) {
+                long costMicros = toMicros(costPerUnit);
+                long quantityMicros = quantityToMicros(quantity);
+                if (costMicros != NOT_REPRESENTABLE && quantityMicros != NOT_REPRESENTABLE) {
+                    try {
+                        total = Math.addExact(total, Math.multiplyExact(costMicros, quantityMicros));
+                        scale = Math.max(scale, costPerUnit.scale() + quantityScale(quantityMicros));
+                        return;
+                    } catch (ArithmeticException e) {
+                        // Falls through with the total so far intact
+                    }
+                }
+                exactTotal = total();
+            }
+            exactTotal = exactTotal.add(costPerUnit.multiply(BigDecimal.valueOf(quantity)));
+        }
+        
+        BigDecimal total() {
+            if (exactTotal != null) {
+                return exactTotal;
+            }
+            // Every line has at most `scale` decimals, so the division is exact
+            return BigDecimal.valueOf(total / POWERS_OF_TEN[2 * SCALE - scale], scale);
+        }
+        
+        Double profitMargin(BigDecimal sellingPrice) {
+            long priceMicros = toMicros(sellingPrice);
+            if (exactTotal == null && priceMicros != NOT_REPRESENTABLE) {
+                Double margin = CostKernel.profitMargin(priceMicros, total, MICROS);
+                if (margin != null) {
+                    return margin;
+                }
+            }
+            return exactProfitMargin(sellingPrice, total());
+        }
+    }
+}
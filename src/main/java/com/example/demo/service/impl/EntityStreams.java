@@ -0,0 +1,23 @@
+package com.example.demo.service.impl;
+
+import jakarta.persistence.EntityManager;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Exports stream whole tables through one read-only transaction
+final class EntityStreams {
+    
+    private EntityStreams() {
+    }
+    
+    // Detaches each row once the consumer has written it, so the persistence context does not grow with the table.
+    // Closes the stream, and with it the underlying result set.
+    static <T> void forEachDetached(EntityManager entityManager, Stream<T> rows, Consumer<T> consumer) {
+        try (rows) {
+            rows.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.ImportFormat;
+import com.example.demo.exception.BadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Reads an upload one line at a time, turning CSV rows (with a header) or JSON lines into field maps
+class ImportRecordReader {
+    
+    interface RecordHandler {
+        void handle(long lineNumber, Map<String, String> fields);
+    }
+    
+    private final ObjectMapper objectMapper;
+    
+    ImportRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    void read(Reader reader, ImportFormat format, RecordHandler handler) {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        try {
+            List<String> header = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.NDJSON) {
+                    handler.handle(lineNumber, parseJsonLine(line));
+                } else if (header == null) {
+                    header = parseCsvLine(line);
+                } else {
+                    handler.handle(lineNumber, toFields(header, parseCsvLine(line)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private Map<String, String> parseJsonLine(String line) {
+        Map<String, String> fields = new HashMap<>();
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                if (!entry.getValue().isNull()) {
+                    fields.put(entry.getKey(), entry.getValue().asText());
+                }
+            }
+        } catch (IOException e) {
+            // Malformed lines surface as an empty record and fail required-field validation
+        }
+        return fields;
+    }
+    
+    private Map<String, String> toFields(List<String> header, List<String> values) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                fields.put(header.get(i), values.get(i));
+            }
+        }
+        return fields;
+    }
+    
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString().trim());
+        return values;
+    }
+    
+    static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new BadRequestException("Missing required field '" + name + "'");
+        }
+        return value.trim();
+    }
+}
@@ -1,51 +1,102 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.cache.CacheNames;
+import com.example.demo.cache.IngredientSnapshot;
+import com.example.demo.cache.ReferenceDataLookup;
+import com.example.demo.catalog.MenuCatalog;
 import com.example.demo.entity.Ingredient;
 import com.example.demo.exception.BadRequestException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.IngredientRepository;
 import com.example.demo.service.IngredientService;
+import com.example.demo.service.MenuItemCostService;
+import com.example.demo.service.PrepService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class IngredientServiceImpl implements IngredientService {
     
     private final IngredientRepository ingredientRepository;
+    private final MenuItemCostService menuItemCostService;
+    private final PrepService prepService;
+    private final MenuCatalog menuCatalog;
+    private final ReferenceDataLookup referenceDataLookup;
     
-    public IngredientServiceImpl(IngredientRepository ingredientRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public IngredientServiceImpl(IngredientRepository ingredientRepository, MenuItemCostService menuItemCostService,
+                                 PrepService prepService, MenuCatalog menuCatalog,
+                                 ReferenceDataLookup referenceDataLookup) {
         this.ingredientRepository = ingredientRepository;
+        this.menuItemCostService = menuItemCostService;
+        this.prepService = prepService;
+        this.menuCatalog = menuCatalog;
+        this.referenceDataLookup = referenceDataLookup;
     }
     
     @Override
     public Ingredient createIngredient(Ingredient ingredient) {
-        if (ingredientRepository.findByNameIgnoreCase(ingredient.getName()).isPresent()) {
+        if (referenceDataLookup.findIngredientIdByName(ingredient.getName()) != null) {
             throw new BadRequestException("Ingredient with this name already exists");
         }
         if (ingredient.getCostPerUnit().compareTo(BigDecimal.ZERO) <= 0) {
             throw new BadRequestException("Cost per unit must be greater than 0");
         }
         ingredient.setActive(true);
+        // Prep items are created through the prep endpoints so their cost is always rolled up
+        ingredient.setPrep(false);
         return ingredientRepository.save(ingredient);
     }
     
     @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.INGREDIENTS, key = "#id"),
+        @CacheEvict(cacheNames = CacheNames.INGREDIENTS_BY_NAME, allEntries = true)
+    })
     public Ingredient updateIngredient(Long id, Ingredient updated) {
         Ingredient existing = ingredientRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found"));
+        BigDecimal previousCost = existing.getCostPerUnit();
+        boolean renamed = !Objects.equals(existing.getName(), updated.getName())
+            || !Objects.equals(existing.getUnit(), updated.getUnit());
         
         existing.setName(updated.getName());
         existing.setUnit(updated.getUnit());
-        existing.setCostPerUnit(updated.getCostPerUnit());
+        // A prep's cost is derived from its components and cannot be set directly
+        if (!Boolean.TRUE.equals(existing.getPrep())) {
+            existing.setCostPerUnit(updated.getCostPerUnit());
+        }
         existing.setActive(updated.getActive());
         
-        return ingredientRepository.save(existing);
+        Ingredient saved = ingredientRepository.save(existing);
+        if (previousCost.compareTo(saved.getCostPerUnit()) != 0) {
+            menuItemCostService.applyIngredientPriceChange(id, previousCost, saved.getCostPerUnit());
+            prepService.onIngredientCostChanged(id);
+        }
+        // Cost changes reach the catalog through the menu item cost service
+        if (renamed) {
+            menuCatalog.refreshIngredient(id);
+        }
+        return saved;
     }
     
     @Override
     public Ingredient getIngredientById(Long id) {
-        return ingredientRepository.findById(id)
+        return Optional.ofNullable(referenceDataLookup.findIngredient(id))
+            .map(IngredientSnapshot::toEntity)
             .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found"));
     }
     
@@ -55,8 +106,25 @@ public class IngredientServiceImpl implements IngredientService {
     }
     
     @Override
+    public List<Ingredient> getIngredientsAfter(Long afterId, int limit) {
+        return ingredientRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllIngredients(Consumer<Ingredient> consumer) {
+        EntityStreams.forEachDetached(entityManager, ingredientRepository.streamAllByOrderByIdAsc(), consumer);
+    }
+    
+    @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.INGREDIENTS, key = "#id"),
+        @CacheEvict(cacheNames = CacheNames.INGREDIENTS_BY_NAME, allEntries = true)
+    })
     public void deactivateIngredient(Long id) {
-        Ingredient ingredient = getIngredientById(id);
+        Ingredient ingredient = ingredientRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found"));
         ingredient.setActive(false);
         ingredientRepository.save(ingredient);
     }
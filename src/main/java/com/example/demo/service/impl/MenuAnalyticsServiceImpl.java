@@ -0,0 +1,108 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.cache.CacheNames;
+import com.example.demo.dto.MarginStatisticsResponse;
+import com.example.demo.dto.MenuAnalyticsResponse;
+import com.example.demo.dto.MenuItemMarginResponse;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.repository.MenuItemCostRepository;
+import com.example.demo.repository.projection.CategoryMargin;
+import com.example.demo.repository.projection.CategoryMarginStats;
+import com.example.demo.repository.projection.MarginStats;
+import com.example.demo.service.MenuAnalyticsService;
+import com.example.demo.service.MenuItemCostService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class MenuAnalyticsServiceImpl implements MenuAnalyticsService {
+    
+    private static final int MAX_LOWEST_MARGIN_LIMIT = 100;
+    
+    private final MenuItemCostRepository menuItemCostRepository;
+    private final MenuItemCostService menuItemCostService;
+    
+    public MenuAnalyticsServiceImpl(MenuItemCostRepository menuItemCostRepository,
+                                    MenuItemCostService menuItemCostService) {
+        this.menuItemCostRepository = menuItemCostRepository;
+        this.menuItemCostService = menuItemCostService;
+    }
+    
+    // Aggregates come from grouped SQL over the cost snapshot, backfilled first so every active item counts; only the
+    // sorted margins are read for percentiles
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.MENU_ANALYTICS, key = "#lowestMarginLimit")
+    public MenuAnalyticsResponse getMenuAnalytics(int lowestMarginLimit) {
+        if (lowestMarginLimit < 0 || lowestMarginLimit > MAX_LOWEST_MARGIN_LIMIT) {
+            throw new BadRequestException("Lowest margin limit must be between 0 and " + MAX_LOWEST_MARGIN_LIMIT);
+        }
+        menuItemCostService.backfillMissingCosts();
+        
+        MarginStatisticsResponse menu = toStatistics(menuItemCostRepository.getActiveMenuStats(),
+            menuItemCostRepository.findActiveMarginsSorted());
+        
+        Map<Long, List<Double>> marginsByCategory = new HashMap<>();
+        for (CategoryMargin margin : menuItemCostRepository.findActiveCategoryMarginsSorted()) {
+            marginsByCategory.computeIfAbsent(margin.getCategoryId(), id -> new ArrayList<>()).add(margin.getProfitMargin());
+        }
+        List<MarginStatisticsResponse> categories = new ArrayList<>();
+        for (CategoryMarginStats stats : menuItemCostRepository.getActiveCategoryStats()) {
+            MarginStatisticsResponse category = toStatistics(stats,
+                marginsByCategory.getOrDefault(stats.getCategoryId(), List.of()));
+            category.setCategoryId(stats.getCategoryId());
+            category.setCategoryName(stats.getCategoryName());
+            categories.add(category);
+        }
+        
+        List<MenuItemMarginResponse> lowestMarginItems = lowestMarginLimit == 0 ? List.of()
+            : menuItemCostRepository.findLowestActiveMargins(Limit.of(lowestMarginLimit)).stream()
+                .map(item -> new MenuItemMarginResponse(item.getMenuItemId(), item.getName(),
+                    item.getTotalCost(), item.getProfitMargin()))
+                .toList();
+        
+        return new MenuAnalyticsResponse(menu, categories, lowestMarginItems, LocalDateTime.now());
+    }
+    
+    private static MarginStatisticsResponse toStatistics(MarginStats stats, List<Double> sortedMargins) {
+        MarginStatisticsResponse response = new MarginStatisticsResponse();
+        response.setItemCount(stats.getItemCount());
+        response.setMinMargin(stats.getMinMargin());
+        response.setMaxMargin(stats.getMaxMargin());
+        response.setAvgMargin(stats.getAvgMargin());
+        response.setP25Margin(percentile(sortedMargins, 25));
+        response.setMedianMargin(percentile(sortedMargins, 50));
+        response.setP75Margin(percentile(sortedMargins, 75));
+        response.setP90Margin(percentile(sortedMargins, 90));
+        response.setTotalCost(stats.getTotalCost());
+        response.setMinCost(stats.getMinCost());
+        response.setMaxCost(stats.getMaxCost());
+        response.setAvgCost(stats.getAvgCost());
+        
+        BigDecimal totalSellingPrice = stats.getTotalSellingPrice();
+        if (stats.getTotalCost() != null && totalSellingPrice != null && totalSellingPrice.signum() > 0) {
+            response.setFoodCostPercentage(stats.getTotalCost()
+                .divide(totalSellingPrice, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue());
+        }
+        return response;
+    }
+    
+    // Nearest-rank percentile over an ascending list
+    static Double percentile(List<Double> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return null;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+}
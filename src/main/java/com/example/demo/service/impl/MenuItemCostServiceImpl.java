@@ -0,0 +1,266 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.cache.CacheNames;
+import com.example.demo.catalog.MenuCatalog;
+import com.example.demo.entity.MenuItem;
+import com.example.demo.entity.MenuItemCost;
+import com.example.demo.entity.ProfitCalculationRecord;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repository.MenuItemCostRepository;
+import com.example.demo.repository.MenuItemRepository;
+import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.repository.projection.RecipeCostLine;
+import com.example.demo.service.AfterCommit;
+import com.example.demo.service.MenuItemCostService;
+import com.example.demo.simulation.MenuCostModelProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class MenuItemCostServiceImpl implements MenuItemCostService {
+    
+    private static final Logger log = LoggerFactory.getLogger(MenuItemCostServiceImpl.class);
+    
+    private final MenuItemCostRepository menuItemCostRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final MenuCostModelProvider menuCostModelProvider;
+    private final MenuCatalog menuCatalog;
+    private final CacheManager cacheManager;
+    
+    public MenuItemCostServiceImpl(MenuItemCostRepository menuItemCostRepository,
+                                   RecipeIngredientRepository recipeIngredientRepository,
+                                   MenuItemRepository menuItemRepository,
+                                   MenuCostModelProvider menuCostModelProvider,
+                                   MenuCatalog menuCatalog,
+                                   CacheManager cacheManager) {
+        this.menuItemCostRepository = menuItemCostRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.menuCostModelProvider = menuCostModelProvider;
+        this.menuCatalog = menuCatalog;
+        this.cacheManager = cacheManager;
+    }
+    
+    @Override
+    public MenuItemCost getCurrentCost(Long menuItemId) {
+        return menuItemCostRepository.findById(menuItemId)
+            .orElseThrow(() -> new ResourceNotFoundException("Current cost not found for menu item"));
+    }
+    
+    @Override
+    public List<MenuItemCost> getAllCurrentCosts() {
+        return menuItemCostRepository.findAll();
+    }
+    
+    @Override
+    @Transactional
+    public void recordCalculations(List<ProfitCalculationRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<Long, ProfitCalculationRecord> byMenuItemId = new HashMap<>();
+        records.forEach(record -> byMenuItemId.put(record.getMenuItem().getId(), record));
+        Map<Long, MenuItemCost> existing = loadCosts(byMenuItemId.keySet());
+        
+        List<MenuItemCost> costs = new ArrayList<>(byMenuItemId.size());
+        List<Long> changed = new ArrayList<>();
+        byMenuItemId.forEach((menuItemId, record) -> {
+            MenuItemCost stored = existing.get(menuItemId);
+            if (stored == null || stored.getTotalCost().compareTo(record.getTotalCost()) != 0
+                    || stored.getSellingPrice().compareTo(record.getMenuItem().getSellingPrice()) != 0) {
+                changed.add(menuItemId);
+            }
+            MenuItemCost cost = new MenuItemCost();
+            cost.setMenuItemId(menuItemId);
+            cost.setTotalCost(record.getTotalCost());
+            cost.setSellingPrice(record.getMenuItem().getSellingPrice());
+            cost.setProfitMargin(record.getProfitMargin());
+            costs.add(cost);
+        });
+        // Upserted rather than saved through the entities: POS terminals recalculate the same items concurrently,
+        // and a version or duplicate key conflict here would fail the calculation itself
+        menuItemCostRepository.upsertAll(costs);
+        // Repeated calculations mostly confirm the stored cost, so only actual changes reach the catalog and analytics
+        refreshCatalog(changed);
+        if (!changed.isEmpty()) {
+            evictAnalytics();
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void applyRecipeChange(Long menuItemId, BigDecimal costDelta) {
+        applyCostDeltas(Map.of(menuItemId, costDelta));
+        invalidateSimulationModel();
+        evictAnalytics();
+        refreshCatalog(List.of(menuItemId));
+    }
+    
+    @Override
+    @Transactional
+    public void applyIngredientPriceChange(Long ingredientId, BigDecimal previousCost, BigDecimal newCost) {
+        BigDecimal priceDelta = newCost.subtract(previousCost);
+        if (priceDelta.signum() == 0) {
+            return;
+        }
+        
+        // Only the recipes using this ingredient are touched: cost += quantity * price delta
+        Map<Long, CostKernel.Accumulator> deltas = new HashMap<>();
+        for (RecipeCostLine line : recipeIngredientRepository.findCostLinesByIngredientId(ingredientId)) {
+            deltas.computeIfAbsent(line.getMenuItemId(), id -> new CostKernel.Accumulator()).add(priceDelta, line.getQuantity());
+        }
+        Map<Long, BigDecimal> costDeltas = new HashMap<>();
+        deltas.forEach((menuItemId, delta) -> costDeltas.put(menuItemId, delta.total()));
+        applyCostDeltas(costDeltas);
+        invalidateSimulationModel();
+        evictAnalytics();
+        refreshCatalog(costDeltas.keySet());
+    }
+    
+    @Override
+    @Transactional
+    public void applySellingPriceChange(Long menuItemId, BigDecimal sellingPrice) {
+        menuItemCostRepository.findById(menuItemId).ifPresent(cost -> {
+            cost.setSellingPrice(sellingPrice);
+            cost.setProfitMargin(ProfitCalculationServiceImpl.calculateProfitMargin(sellingPrice, cost.getTotalCost()));
+            menuItemCostRepository.save(cost);
+        });
+        invalidateSimulationModel();
+        evictAnalytics();
+        refreshCatalog(List.of(menuItemId));
+    }
+    
+    @Override
+    @Transactional
+    public void refreshCosts(Collection<Long> menuItemIds) {
+        if (menuItemIds.isEmpty()) {
+            return;
+        }
+        Map<Long, MenuItemCost> existing = loadCosts(menuItemIds);
+        List<MenuItemCost> costs = new ArrayList<>(menuItemIds.size());
+        for (MenuItemCost rebuilt : buildCosts(menuItemIds)) {
+            MenuItemCost cost = existing.getOrDefault(rebuilt.getMenuItemId(), rebuilt);
+            cost.setTotalCost(rebuilt.getTotalCost());
+            cost.setSellingPrice(rebuilt.getSellingPrice());
+            cost.setProfitMargin(rebuilt.getProfitMargin());
+            costs.add(cost);
+        }
+        menuItemCostRepository.saveAll(costs);
+        invalidateSimulationModel();
+        evictAnalytics();
+        refreshCatalog(menuItemIds);
+    }
+    
+    // Active items that were never calculated, e.g. everything that existed before the snapshot table, have no row and
+    // would drop out of every report over it. Their snapshot is built from the recipe and upserted, so nodes running
+    // this at the same time cannot collide. Runs in its own transaction so read-only callers can backfill first.
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int backfillMissingCosts() {
+        List<Long> menuItemIds = menuItemCostRepository.findActiveMenuItemIdsWithoutCost();
+        if (menuItemIds.isEmpty()) {
+            return 0;
+        }
+        menuItemCostRepository.upsertAll(buildCosts(menuItemIds));
+        invalidateSimulationModel();
+        evictAnalytics();
+        refreshCatalog(menuItemIds);
+        return menuItemIds.size();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            int backfilled = backfillMissingCosts();
+            if (backfilled > 0) {
+                log.info("Backfilled the cost snapshot of {} menu items", backfilled);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not backfill menu item costs: {}", e.getMessage());
+        }
+    }
+    
+    private void invalidateSimulationModel() {
+        menuCostModelProvider.invalidate();
+    }
+    
+    // Analytics are computed from the stored costs, so a committed cost change makes every cached report stale
+    private void evictAnalytics() {
+        Runnable evict = () -> {
+            Cache analytics = cacheManager.getCache(CacheNames.MENU_ANALYTICS);
+            if (analytics != null) {
+                analytics.clear();
+            }
+        };
+        AfterCommit.run(evict);
+    }
+    
+    private void refreshCatalog(Collection<Long> menuItemIds) {
+        if (!menuItemIds.isEmpty()) {
+            menuCatalog.refresh(menuItemIds);
+        }
+    }
+    
+    private void applyCostDeltas(Map<Long, BigDecimal> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<Long, MenuItemCost> existing = loadCosts(deltas.keySet());
+        List<MenuItemCost> costs = new ArrayList<>(deltas.size());
+        for (MenuItemCost cost : existing.values()) {
+            cost.setTotalCost(cost.getTotalCost().add(deltas.get(cost.getMenuItemId())));
+            cost.setProfitMargin(ProfitCalculationServiceImpl.calculateProfitMargin(cost.getSellingPrice(), cost.getTotalCost()));
+            costs.add(cost);
+        }
+        
+        // Items without a snapshot yet get one built from their full recipe, which already includes the change
+        Set<Long> missing = new HashSet<>(deltas.keySet());
+        missing.removeAll(existing.keySet());
+        if (!missing.isEmpty()) {
+            costs.addAll(buildCosts(missing));
+        }
+        menuItemCostRepository.saveAll(costs);
+    }
+    
+    private List<MenuItemCost> buildCosts(Collection<Long> menuItemIds) {
+        Map<Long, CostKernel.Accumulator> totalCosts = new HashMap<>();
+        for (RecipeCostLine line : recipeIngredientRepository.findCostLinesByMenuItemIds(menuItemIds)) {
+            totalCosts.computeIfAbsent(line.getMenuItemId(), id -> new CostKernel.Accumulator())
+                .add(line.getCostPerUnit(), line.getQuantity());
+        }
+        
+        List<MenuItemCost> costs = new ArrayList<>(menuItemIds.size());
+        for (MenuItem menuItem : menuItemRepository.findAllById(menuItemIds)) {
+            MenuItemCost cost = new MenuItemCost();
+            cost.setMenuItemId(menuItem.getId());
+            CostKernel.Accumulator totalCost = totalCosts.get(menuItem.getId());
+            cost.setTotalCost(totalCost != null ? totalCost.total() : BigDecimal.ZERO);
+            cost.setSellingPrice(menuItem.getSellingPrice());
+            cost.setProfitMargin(ProfitCalculationServiceImpl.calculateProfitMargin(menuItem.getSellingPrice(), cost.getTotalCost()));
+            costs.add(cost);
+        }
+        return costs;
+    }
+    
+    private Map<Long, MenuItemCost> loadCosts(Collection<Long> menuItemIds) {
+        Map<Long, MenuItemCost> costs = new HashMap<>();
+        menuItemCostRepository.findAllById(menuItemIds).forEach(cost -> costs.put(cost.getMenuItemId(), cost));
+        return costs;
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.cache.CacheNames;
+import com.example.demo.cache.MenuItemSnapshot;
+import com.example.demo.cache.ReferenceDataLookup;
+import com.example.demo.catalog.MenuCatalog;
+import com.example.demo.dto.MenuCatalogItem;
 import com.example.demo.entity.Category;
 import com.example.demo.entity.MenuItem;
 import com.example.demo.exception.BadRequestException;
@@ -7,12 +12,24 @@ import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.CategoryRepository;
 import com.example.demo.repository.MenuItemRepository;
 import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.service.MenuItemCostService;
 import com.example.demo.service.MenuItemService;
+import com.example.demo.simulation.MenuCostModelProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class MenuItemServiceImpl implements MenuItemService {
@@ -20,46 +37,59 @@ public class MenuItemServiceImpl implements MenuItemService {
     private final MenuItemRepository menuItemRepository;
     private final RecipeIngredientRepository recipeIngredientRepository;
     private final CategoryRepository categoryRepository;
+    private final MenuItemCostService menuItemCostService;
+    private final MenuCatalog menuCatalog;
+    private final MenuCostModelProvider menuCostModelProvider;
+    private final ReferenceDataLookup referenceDataLookup;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     public MenuItemServiceImpl(MenuItemRepository menuItemRepository, 
                               RecipeIngredientRepository recipeIngredientRepository,
-                              CategoryRepository categoryRepository) {
+                              CategoryRepository categoryRepository,
+                              MenuItemCostService menuItemCostService,
+                              MenuCatalog menuCatalog,
+                              MenuCostModelProvider menuCostModelProvider,
+                              ReferenceDataLookup referenceDataLookup) {
         this.menuItemRepository = menuItemRepository;
         this.recipeIngredientRepository = recipeIngredientRepository;
         this.categoryRepository = categoryRepository;
+        this.menuItemCostService = menuItemCostService;
+        this.menuCatalog = menuCatalog;
+        this.menuCostModelProvider = menuCostModelProvider;
+        this.referenceDataLookup = referenceDataLookup;
     }
     
     @Override
     public MenuItem createMenuItem(MenuItem menuItem) {
-        if (menuItemRepository.findByNameIgnoreCase(menuItem.getName()).isPresent()) {
+        if (referenceDataLookup.findMenuItemIdByName(menuItem.getName()) != null) {
             throw new BadRequestException("Menu item with this name already exists");
         }
-        if (menuItem.getSellingPrice().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Selling price must be greater than 0");
-        }
+        validateSellingPrice(menuItem.getSellingPrice());
         
         // Validate categories
         if (menuItem.getCategories() != null && !menuItem.getCategories().isEmpty()) {
-            Set<Category> validCategories = new HashSet<>();
-            for (Category category : menuItem.getCategories()) {
-                Category existingCategory = categoryRepository.findById(category.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-                if (!existingCategory.getActive()) {
-                    throw new BadRequestException("Cannot assign inactive category to menu item");
-                }
-                validCategories.add(existingCategory);
-            }
-            menuItem.setCategories(validCategories);
+            menuItem.setCategories(resolveCategories(menuItem.getCategories()));
         }
         
         menuItem.setActive(true);
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        refreshMenuViews(saved.getId());
+        return saved;
     }
     
     @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.MENU_ITEMS, key = "#id"),
+        @CacheEvict(cacheNames = CacheNames.MENU_ITEMS_BY_NAME, allEntries = true)
+    })
     public MenuItem updateMenuItem(Long id, MenuItem updated) {
         MenuItem existing = menuItemRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
+        BigDecimal previousPrice = existing.getSellingPrice();
+        validateSellingPrice(updated.getSellingPrice());
         
         if (updated.getActive() && !recipeIngredientRepository.existsByMenuItemId(id)) {
             throw new BadRequestException("Cannot activate menu item without recipe ingredients");
@@ -72,24 +102,21 @@ public class MenuItemServiceImpl implements MenuItemService {
         
         // Update categories
         if (updated.getCategories() != null) {
-            Set<Category> validCategories = new HashSet<>();
-            for (Category category : updated.getCategories()) {
-                Category existingCategory = categoryRepository.findById(category.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-                if (!existingCategory.getActive()) {
-                    throw new BadRequestException("Cannot assign inactive category to menu item");
-                }
-                validCategories.add(existingCategory);
-            }
-            existing.setCategories(validCategories);
+            existing.setCategories(resolveCategories(updated.getCategories()));
         }
         
-        return menuItemRepository.save(existing);
+        MenuItem saved = menuItemRepository.save(existing);
+        if (previousPrice.compareTo(saved.getSellingPrice()) != 0) {
+            menuItemCostService.applySellingPriceChange(id, saved.getSellingPrice());
+        }
+        refreshMenuViews(id);
+        return saved;
     }
     
     @Override
     public MenuItem getMenuItemById(Long id) {
-        return menuItemRepository.findById(id)
+        return Optional.ofNullable(referenceDataLookup.findMenuItem(id))
+            .map(MenuItemSnapshot::toEntity)
             .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
     }
     
@@ -99,9 +126,75 @@ public class MenuItemServiceImpl implements MenuItemService {
     }
     
     @Override
+    public List<MenuCatalogItem> getMenuCatalog() {
+        return menuCatalog.getItems();
+    }
+    
+    @Override
+    public List<MenuItem> getMenuItemsAfter(Long afterId, int limit) {
+        return menuItemRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllMenuItems(Consumer<MenuItem> consumer) {
+        EntityStreams.forEachDetached(entityManager, menuItemRepository.streamAllByOrderByIdAsc(), consumer);
+    }
+    
+    @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheNames.MENU_ITEMS, key = "#id"),
+        @CacheEvict(cacheNames = CacheNames.MENU_ITEMS_BY_NAME, allEntries = true)
+    })
     public void deactivateMenuItem(Long id) {
-        MenuItem menuItem = getMenuItemById(id);
+        MenuItem menuItem = menuItemRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
         menuItem.setActive(false);
         menuItemRepository.save(menuItem);
+        refreshMenuViews(id);
+    }
+    
+    // Names, prices and the active flag all feed the catalog and the simulation model
+    private void refreshMenuViews(Long id) {
+        menuCatalog.refresh(List.of(id));
+        menuCostModelProvider.invalidate();
+    }
+    
+    private static void validateSellingPrice(BigDecimal sellingPrice) {
+        if (sellingPrice == null || sellingPrice.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BadRequestException("Selling price must be greater than 0");
+        }
+    }
+    
+    // Loads all requested categories in one query and reports every missing or inactive id at once
+    private Set<Category> resolveCategories(Set<Category> requested) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Category category : requested) {
+            if (category.getId() == null) {
+                throw new ResourceNotFoundException("Category not found");
+            }
+            ids.add(category.getId());
+        }
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        
+        List<Category> found = categoryRepository.findAllById(ids);
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        List<Long> inactive = new ArrayList<>();
+        for (Category category : found) {
+            missing.remove(category.getId());
+            if (!category.getActive()) {
+                inactive.add(category.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Category not found: " + missing);
+        }
+        if (!inactive.isEmpty()) {
+            throw new BadRequestException("Cannot assign inactive category to menu item: " + inactive);
+        }
+        return new HashSet<>(found);
     }
 }
\ No newline at end of file
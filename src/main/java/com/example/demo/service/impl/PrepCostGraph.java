@@ -0,0 +1,169 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.repository.projection.PrepEdge;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Prep items and their components as a DAG. Costs roll up bottom-up in topological order, so each prep is costed
+// once per pass and later preps read the memoized cost instead of re-costing shared sub-recipes.
+final class PrepCostGraph {
+    
+    private final Map<Long, List<PrepEdge>> componentsByPrep = new HashMap<>();
+    private final Map<Long, List<Long>> prepsByComponent = new HashMap<>();
+    
+    PrepCostGraph(List<PrepEdge> edges) {
+        for (PrepEdge edge : edges) {
+            componentsByPrep.computeIfAbsent(edge.getPrepId(), id -> new ArrayList<>()).add(edge);
+            prepsByComponent.computeIfAbsent(edge.getComponentId(), id -> new ArrayList<>()).add(edge.getPrepId());
+        }
+    }
+    
+    // Adding prep -> component closes a cycle when the prep is already reachable from the component
+    boolean wouldCreateCycle(Long prepId, Long componentId) {
+        Deque<Long> pending = new ArrayDeque<>();
+        Set<Long> seen = new HashSet<>();
+        pending.push(componentId);
+        while (!pending.isEmpty()) {
+            Long current = pending.pop();
+            if (current.equals(prepId)) {
+                return true;
+            }
+            for (PrepEdge edge : componentsByPrep.getOrDefault(current, List.of())) {
+                if (seen.add(edge.getComponentId())) {
+                    pending.push(edge.getComponentId());
+                }
+            }
+        }
+        return false;
+    }
+    
+    // The given ingredients plus every prep that uses them, directly or through other preps
+    Set<Long> withDependents(Collection<Long> ingredientIds) {
+        Set<Long> result = new HashSet<>(ingredientIds);
+        Deque<Long> pending = new ArrayDeque<>(ingredientIds);
+        while (!pending.isEmpty()) {
+            for (Long prepId : prepsByComponent.getOrDefault(pending.pop(), List.of())) {
+                if (result.add(prepId)) {
+                    pending.push(prepId);
+                }
+            }
+        }
+        return result;
+    }
+    
+    // The given ingredients plus every component they are made from, directly or through other preps
+    Set<Long> withComponents(Collection<Long> ingredientIds) {
+        Set<Long> result = new HashSet<>(ingredientIds);
+        Deque<Long> pending = new ArrayDeque<>(ingredientIds);
+        while (!pending.isEmpty()) {
+            for (PrepEdge edge : componentsByPrep.getOrDefault(pending.pop(), List.of())) {
+                if (result.add(edge.getComponentId())) {
+                    pending.push(edge.getComponentId());
+                }
+            }
+        }
+        return result;
+    }
+    
+    // Kahn's algorithm over the subset; components outside it are taken as already costed
+    List<Long> topologicalOrder(Set<Long> prepIds) {
+        Map<Long, Integer> pendingComponents = new HashMap<>();
+        Deque<Long> ready = new ArrayDeque<>();
+        for (Long prepId : prepIds) {
+            int count = 0;
+            for (PrepEdge edge : componentsByPrep.getOrDefault(prepId, List.of())) {
+                if (prepIds.contains(edge.getComponentId())) {
+                    count++;
+                }
+            }
+            pendingComponents.put(prepId, count);
+            if (count == 0) {
+                ready.add(prepId);
+            }
+        }
+        List<Long> order = new ArrayList<>(prepIds.size());
+        while (!ready.isEmpty()) {
+            Long prepId = ready.poll();
+            order.add(prepId);
+            for (Long dependent : prepsByComponent.getOrDefault(prepId, List.of())) {
+                if (prepIds.contains(dependent) && pendingComponents.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() < prepIds.size()) {
+            throw new IllegalStateException("Prep components contain a cycle");
+        }
+        return order;
+    }
+    
+    // Cost per unit of one batch divided by its yield; components costed earlier in the pass come from the memo
+    BigDecimal rollUp(Long prepId, double yieldQuantity, Map<Long, BigDecimal> memo) {
+        CostKernel.Accumulator batchCost = new CostKernel.Accumulator();
+        for (PrepEdge edge : componentsByPrep.getOrDefault(prepId, List.of())) {
+            batchCost.add(memo.getOrDefault(edge.getComponentId(), edge.getComponentCost()), edge.getQuantity());
+        }
+        return batchCost.total().divide(BigDecimal.valueOf(yieldQuantity), CostKernel.SCALE, RoundingMode.HALF_UP);
+    }
+    
+    // New cost per unit of every prep downstream of the given cost changes, each rolled up once in topological order.
+    // Preps whose own cost is among the changes keep that cost instead of being re-costed from their components.
+    Map<Long, BigDecimal> rollUpChanges(Map<Long, BigDecimal> newCosts, Map<Long, Double> prepYields) {
+        Set<Long> affected = withDependents(newCosts.keySet());
+        affected.retainAll(prepYields.keySet());
+        affected.removeAll(newCosts.keySet());
+        Map<Long, BigDecimal> memo = new HashMap<>(newCosts);
+        for (Long prepId : topologicalOrder(affected)) {
+            memo.put(prepId, rollUp(prepId, prepYields.get(prepId), memo));
+        }
+        return memo;
+    }
+    
+    // Demand for preps passed down to their components, each unit of a prep taking quantity / yield of every component.
+    // Preps are expanded top-down, so a prep's demand from every prep above it is in before it is passed on.
+    Map<Long, Double> expandDemand(Map<Long, Double> demand, Map<Long, Double> prepYields) {
+        Set<Long> preps = withComponents(demand.keySet());
+        preps.retainAll(prepYields.keySet());
+        List<Long> order = topologicalOrder(preps);
+        Map<Long, Double> totals = new HashMap<>(demand);
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Long prepId = order.get(i);
+            Double quantity = totals.get(prepId);
+            if (quantity == null) {
+                continue;
+            }
+            double batches = quantity / prepYields.get(prepId);
+            for (PrepEdge edge : componentsByPrep.getOrDefault(prepId, List.of())) {
+                totals.merge(edge.getComponentId(), batches * edge.getQuantity(), Double::sum);
+            }
+        }
+        return totals;
+    }
+    
+    // Change in cost per unit of every downstream prep per unit change of the ingredient's cost. rollUp is linear in
+    // its component costs, so this is the quantity of the ingredient that goes into one unit of each prep.
+    Map<Long, Double> sensitivities(Long ingredientId, Map<Long, Double> prepYields) {
+        Set<Long> affected = withDependents(List.of(ingredientId));
+        affected.retainAll(prepYields.keySet());
+        affected.remove(ingredientId);
+        Map<Long, Double> memo = new HashMap<>();
+        memo.put(ingredientId, 1.0);
+        for (Long prepId : topologicalOrder(affected)) {
+            double perBatch = 0;
+            for (PrepEdge edge : componentsByPrep.getOrDefault(prepId, List.of())) {
+                perBatch += edge.getQuantity() * memo.getOrDefault(edge.getComponentId(), 0.0);
+            }
+            memo.put(prepId, perBatch / prepYields.get(prepId));
+        }
+        return memo;
+    }
+}
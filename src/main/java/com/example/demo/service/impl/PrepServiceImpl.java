@@ -0,0 +1,219 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.cache.CacheNames;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.PrepComponent;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repository.IngredientRepository;
+import com.example.demo.repository.PrepComponentRepository;
+import com.example.demo.service.AfterCommit;
+import com.example.demo.service.MenuItemCostService;
+import com.example.demo.service.PrepService;
+import com.example.demo.simulation.MenuCostModelProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class PrepServiceImpl implements PrepService {
+    
+    private final IngredientRepository ingredientRepository;
+    private final PrepComponentRepository prepComponentRepository;
+    private final MenuItemCostService menuItemCostService;
+    private final CacheManager cacheManager;
+    private final MenuCostModelProvider menuCostModelProvider;
+    
+    public PrepServiceImpl(IngredientRepository ingredientRepository,
+                           PrepComponentRepository prepComponentRepository,
+                           MenuItemCostService menuItemCostService,
+                           CacheManager cacheManager,
+                           MenuCostModelProvider menuCostModelProvider) {
+        this.ingredientRepository = ingredientRepository;
+        this.prepComponentRepository = prepComponentRepository;
+        this.menuItemCostService = menuItemCostService;
+        this.cacheManager = cacheManager;
+        this.menuCostModelProvider = menuCostModelProvider;
+    }
+    
+    @Override
+    @Transactional
+    public Ingredient createPrep(Ingredient prep) {
+        if (ingredientRepository.findByNameIgnoreCase(prep.getName()).isPresent()) {
+            throw new BadRequestException("Ingredient with this name already exists");
+        }
+        validateYield(prep.getYieldQuantity());
+        // Costed from its components once they are added
+        prep.setPrep(true);
+        prep.setCostPerUnit(BigDecimal.ZERO);
+        prep.setActive(true);
+        return ingredientRepository.save(prep);
+    }
+    
+    @Override
+    public List<Ingredient> getAllPreps() {
+        return ingredientRepository.findByPrepTrue();
+    }
+    
+    @Override
+    @Transactional
+    public Ingredient updateYield(Long prepId, Double yieldQuantity) {
+        validateYield(yieldQuantity);
+        Ingredient prep = getPrep(prepId);
+        prep.setYieldQuantity(yieldQuantity);
+        ingredientRepository.save(prep);
+        recost(List.of(prepId));
+        // The simulation model holds the prep graph itself, not just the costs it rolls up to
+        menuCostModelProvider.invalidate();
+        return prep;
+    }
+    
+    @Override
+    @Transactional
+    public PrepComponent addComponent(Long prepId, PrepComponent component) {
+        if (component.getQuantity() == null || component.getQuantity() <= 0) {
+            throw new BadRequestException("Quantity must be greater than 0");
+        }
+        if (component.getComponent() == null || component.getComponent().getId() == null) {
+            throw new BadRequestException("Component ingredient id is required");
+        }
+        // Locking just the two endpoints would miss a cycle closed by two concurrent edges that share no node; every
+        // node of a cycle is a prep, so locking all preps serializes edge inserts. Taken before any other read so the
+        // transaction's snapshot, and with it the cycle check, includes every edge committed ahead of it.
+        ingredientRepository.lockAllPreps();
+        Ingredient prep = getPrep(prepId);
+        Ingredient ingredient = ingredientRepository.findById(component.getComponent().getId())
+            .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found"));
+        if (prepComponentRepository.existsByPrepIdAndComponentId(prepId, ingredient.getId())) {
+            throw new BadRequestException("Ingredient is already a component of this prep");
+        }
+        if (new PrepCostGraph(prepComponentRepository.findAllEdges()).wouldCreateCycle(prepId, ingredient.getId())) {
+            throw new BadRequestException("Adding this component would create a cycle");
+        }
+        
+        component.setPrep(prep);
+        component.setComponent(ingredient);
+        PrepComponent saved = prepComponentRepository.save(component);
+        recost(List.of(prepId));
+        menuCostModelProvider.invalidate();
+        return saved;
+    }
+    
+    @Override
+    @Transactional
+    public PrepComponent updateComponent(Long id, Double quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new BadRequestException("Quantity must be greater than 0");
+        }
+        PrepComponent component = prepComponentRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Prep component not found"));
+        component.setQuantity(quantity);
+        PrepComponent saved = prepComponentRepository.save(component);
+        recost(List.of(saved.getPrep().getId()));
+        menuCostModelProvider.invalidate();
+        return saved;
+    }
+    
+    @Override
+    @Transactional
+    public void removeComponent(Long id) {
+        PrepComponent component = prepComponentRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Prep component not found"));
+        prepComponentRepository.delete(component);
+        recost(List.of(component.getPrep().getId()));
+        menuCostModelProvider.invalidate();
+    }
+    
+    @Override
+    public List<PrepComponent> getComponents(Long prepId) {
+        getPrep(prepId);
+        return prepComponentRepository.findByPrepId(prepId);
+    }
+    
+    @Override
+    @Transactional
+    public void onIngredientCostChanged(Long ingredientId) {
+        recost(List.of(ingredientId));
+    }
+    
+    @Override
+    @Transactional
+    public int recalculateAll() {
+        List<Long> prepIds = ingredientRepository.findByPrepTrue().stream().map(Ingredient::getId).toList();
+        return recost(prepIds);
+    }
+    
+    // Re-costs every prep downstream of the changed ingredients exactly once, then pushes each resulting prep price
+    // change into the menu item cost snapshot through the same path as a raw ingredient price change
+    private int recost(Collection<Long> changedIds) {
+        Map<Long, Ingredient> preps = new HashMap<>();
+        ingredientRepository.findByPrepTrue().forEach(prep -> preps.put(prep.getId(), prep));
+        PrepCostGraph graph = new PrepCostGraph(prepComponentRepository.findAllEdges());
+        Set<Long> affected = graph.withDependents(changedIds);
+        affected.retainAll(preps.keySet());
+        if (affected.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, BigDecimal> memo = new HashMap<>();
+        Map<Long, BigDecimal> previousCosts = new LinkedHashMap<>();
+        for (Long prepId : graph.topologicalOrder(affected)) {
+            Ingredient prep = preps.get(prepId);
+            BigDecimal cost = graph.rollUp(prepId, prep.getYieldQuantity(), memo);
+            memo.put(prepId, cost);
+            if (cost.compareTo(prep.getCostPerUnit()) != 0) {
+                previousCosts.put(prepId, prep.getCostPerUnit());
+                prep.setCostPerUnit(cost);
+            }
+        }
+        if (previousCosts.isEmpty()) {
+            return 0;
+        }
+        
+        List<Ingredient> changed = new ArrayList<>(previousCosts.size());
+        previousCosts.keySet().forEach(prepId -> changed.add(preps.get(prepId)));
+        ingredientRepository.saveAll(changed);
+        previousCosts.forEach((prepId, previousCost) ->
+            menuItemCostService.applyIngredientPriceChange(prepId, previousCost, memo.get(prepId)));
+        evictAfterCommit(new ArrayList<>(previousCosts.keySet()));
+        return previousCosts.size();
+    }
+    
+    private void evictAfterCommit(List<Long> prepIds) {
+        Runnable evict = () -> {
+            Cache byId = cacheManager.getCache(CacheNames.INGREDIENTS);
+            Cache byName = cacheManager.getCache(CacheNames.INGREDIENTS_BY_NAME);
+            if (byId != null) {
+                prepIds.forEach(byId::evict);
+            }
+            if (byName != null) {
+                byName.clear();
+            }
+        };
+        AfterCommit.run(evict);
+    }
+    
+    private Ingredient getPrep(Long prepId) {
+        Ingredient prep = ingredientRepository.findById(prepId)
+            .orElseThrow(() -> new ResourceNotFoundException("Prep item not found"));
+        if (!Boolean.TRUE.equals(prep.getPrep())) {
+            throw new BadRequestException("Ingredient is not a prep item");
+        }
+        return prep;
+    }
+    
+    private static void validateYield(Double yieldQuantity) {
+        if (yieldQuantity == null || yieldQuantity <= 0) {
+            throw new BadRequestException("Yield quantity must be greater than 0");
+        }
+    }
+}
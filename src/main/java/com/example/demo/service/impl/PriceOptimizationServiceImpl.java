@@ -0,0 +1,179 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.MarginStatisticsResponse;
+import com.example.demo.dto.PriceOptimizationRequest;
+import com.example.demo.dto.PriceOptimizationResponse;
+import com.example.demo.dto.PriceSuggestion;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.repository.MenuItemCostRepository;
+import com.example.demo.repository.MenuItemRepository;
+import com.example.demo.repository.projection.MenuItemCategoryLink;
+import com.example.demo.repository.projection.MenuItemCostPrice;
+import com.example.demo.service.MenuItemCostService;
+import com.example.demo.service.PriceOptimizationService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class PriceOptimizationServiceImpl implements PriceOptimizationService {
+    
+    private static final BigDecimal DEFAULT_ROUNDING_INCREMENT = new BigDecimal("0.01");
+    
+    private final MenuItemCostRepository menuItemCostRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final MenuItemCostService menuItemCostService;
+    
+    public PriceOptimizationServiceImpl(MenuItemCostRepository menuItemCostRepository,
+                                        MenuItemRepository menuItemRepository,
+                                        MenuItemCostService menuItemCostService) {
+        this.menuItemCostRepository = menuItemCostRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.menuItemCostService = menuItemCostService;
+    }
+    
+    // Reads the maintained per-item cost snapshot and the category links once, then prices every item in memory.
+    // Active items without a snapshot get one first, so none is left out. Suggestions are only returned; selling
+    // prices are not changed.
+    @Override
+    @Transactional(readOnly = true)
+    public PriceOptimizationResponse optimize(PriceOptimizationRequest request) {
+        validate(request);
+        long start = System.nanoTime();
+        // Before any read here, so the snapshot this transaction sees already has the backfilled rows
+        menuItemCostService.backfillMissingCosts();
+        Map<Long, Double> targetsByItem = targetsByItem(request.getCategoryTargets());
+        BigDecimal increment = request.getRoundingIncrement() != null ? request.getRoundingIncrement() : DEFAULT_ROUNDING_INCREMENT;
+        boolean allowDecrease = !Boolean.FALSE.equals(request.getAllowPriceDecrease());
+        
+        List<MenuItemCostPrice> items = menuItemCostRepository.findActiveCostsAndPrices();
+        List<PriceSuggestion> suggestions = new ArrayList<>(items.size());
+        int changed = 0;
+        for (MenuItemCostPrice item : items) {
+            Double target = targetsByItem.getOrDefault(item.getMenuItemId(), request.getDefaultTargetMargin());
+            BigDecimal suggested = item.getSellingPrice();
+            if (target != null) {
+                suggested = priceFor(item.getTotalCost(), target, increment, request.getPriceEnding());
+                if (!allowDecrease && suggested.compareTo(item.getSellingPrice()) < 0) {
+                    suggested = item.getSellingPrice();
+                }
+            }
+            if (suggested.compareTo(item.getSellingPrice()) != 0) {
+                changed++;
+            }
+            suggestions.add(new PriceSuggestion(item.getMenuItemId(), item.getName(), item.getTotalCost(),
+                item.getSellingPrice(), suggested, target, margin(item.getSellingPrice(), item.getTotalCost()),
+                margin(suggested, item.getTotalCost())));
+        }
+        
+        return new PriceOptimizationResponse(suggestions.size(), changed,
+            distribution(suggestions, false), distribution(suggestions, true), suggestions,
+            LocalDateTime.now(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private Map<Long, Double> targetsByItem(Map<Long, Double> categoryTargets) {
+        Map<Long, Double> targets = new HashMap<>();
+        if (categoryTargets == null || categoryTargets.isEmpty()) {
+            return targets;
+        }
+        for (MenuItemCategoryLink link : menuItemRepository.findActiveCategoryLinks()) {
+            Double target = categoryTargets.get(link.getCategoryId());
+            if (target != null) {
+                targets.merge(link.getMenuItemId(), target, Math::max);
+            }
+        }
+        return targets;
+    }
+    
+    // Always rounds up, so the rounded price never lands below the target margin
+    private static BigDecimal priceFor(BigDecimal totalCost, double targetMargin, BigDecimal increment, BigDecimal ending) {
+        BigDecimal costShare = BigDecimal.ONE.subtract(BigDecimal.valueOf(targetMargin).movePointLeft(2));
+        BigDecimal price = totalCost.divide(costShare, 6, RoundingMode.CEILING);
+        if (ending != null) {
+            BigDecimal candidate = price.setScale(0, RoundingMode.FLOOR).add(ending);
+            price = candidate.compareTo(price) >= 0 ? candidate : candidate.add(BigDecimal.ONE);
+        } else {
+            price = price.divide(increment, 0, RoundingMode.CEILING).multiply(increment);
+        }
+        // A zero-cost item still needs a sellable price
+        if (price.signum() <= 0) {
+            price = ending != null ? ending.add(BigDecimal.ONE) : increment;
+        }
+        return price;
+    }
+    
+    private static Double margin(BigDecimal sellingPrice, BigDecimal totalCost) {
+        return sellingPrice.signum() > 0 ? ProfitCalculationServiceImpl.calculateProfitMargin(sellingPrice, totalCost) : null;
+    }
+    
+    private static MarginStatisticsResponse distribution(List<PriceSuggestion> suggestions, boolean projected) {
+        MarginStatisticsResponse response = new MarginStatisticsResponse();
+        response.setItemCount((long) suggestions.size());
+        if (suggestions.isEmpty()) {
+            return response;
+        }
+        double[] margins = new double[suggestions.size()];
+        int count = 0;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        for (PriceSuggestion suggestion : suggestions) {
+            Double margin = projected ? suggestion.getProjectedMargin() : suggestion.getCurrentMargin();
+            if (margin != null) {
+                margins[count++] = margin;
+            }
+            totalCost = totalCost.add(suggestion.getTotalCost());
+            totalPrice = totalPrice.add(projected ? suggestion.getSuggestedPrice() : suggestion.getCurrentPrice());
+        }
+        double[] sorted = Arrays.copyOf(margins, count);
+        Arrays.sort(sorted);
+        List<Double> sortedMargins = Arrays.stream(sorted).boxed().toList();
+        if (count > 0) {
+            response.setMinMargin(sorted[0]);
+            response.setMaxMargin(sorted[count - 1]);
+            response.setAvgMargin(Arrays.stream(sorted).average().orElse(0));
+        }
+        response.setP25Margin(MenuAnalyticsServiceImpl.percentile(sortedMargins, 25));
+        response.setMedianMargin(MenuAnalyticsServiceImpl.percentile(sortedMargins, 50));
+        response.setP75Margin(MenuAnalyticsServiceImpl.percentile(sortedMargins, 75));
+        response.setP90Margin(MenuAnalyticsServiceImpl.percentile(sortedMargins, 90));
+        response.setTotalCost(totalCost);
+        if (totalPrice.signum() > 0) {
+            response.setFoodCostPercentage(totalCost.divide(totalPrice, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue());
+        }
+        return response;
+    }
+    
+    private static void validate(PriceOptimizationRequest request) {
+        if ((request.getCategoryTargets() == null || request.getCategoryTargets().isEmpty())
+                && request.getDefaultTargetMargin() == null) {
+            throw new BadRequestException("Provide category targets or a default target margin");
+        }
+        if (request.getCategoryTargets() != null) {
+            request.getCategoryTargets().values().forEach(PriceOptimizationServiceImpl::validateTarget);
+        }
+        if (request.getDefaultTargetMargin() != null) {
+            validateTarget(request.getDefaultTargetMargin());
+        }
+        if (request.getRoundingIncrement() != null && request.getRoundingIncrement().signum() <= 0) {
+            throw new BadRequestException("Rounding increment must be greater than 0");
+        }
+        if (request.getPriceEnding() != null
+                && (request.getPriceEnding().signum() < 0 || request.getPriceEnding().compareTo(BigDecimal.ONE) >= 0)) {
+            throw new BadRequestException("Price ending must be between 0 and 1");
+        }
+    }
+    
+    private static void validateTarget(Double target) {
+        if (target == null || target < 0 || target >= 100) {
+            throw new BadRequestException("Target margins must be at least 0 and below 100");
+        }
+    }
+}
@@ -1,66 +1,156 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.dto.WriteBehindStatsResponse;
 import com.example.demo.entity.MenuItem;
 import com.example.demo.entity.ProfitCalculationRecord;
-import com.example.demo.entity.RecipeIngredient;
 import com.example.demo.exception.BadRequestException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.IngredientRepository;
 import com.example.demo.repository.MenuItemRepository;
 import com.example.demo.repository.ProfitCalculationRecordRepository;
 import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.repository.projection.RecipeCostLine;
+import com.example.demo.service.MenuItemCostService;
 import com.example.demo.service.ProfitCalculationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class ProfitCalculationServiceImpl implements ProfitCalculationService {
     
+    private static final Logger log = LoggerFactory.getLogger(ProfitCalculationServiceImpl.class);
+    
     private final MenuItemRepository menuItemRepository;
     private final RecipeIngredientRepository recipeIngredientRepository;
     private final IngredientRepository ingredientRepository;
     private final ProfitCalculationRecordRepository profitCalculationRecordRepository;
+    private final MenuItemCostService menuItemCostService;
+    private final ProfitRecordWriteBehindBuffer writeBehindBuffer;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     public ProfitCalculationServiceImpl(MenuItemRepository menuItemRepository,
                                       RecipeIngredientRepository recipeIngredientRepository,
                                       IngredientRepository ingredientRepository,
-                                      ProfitCalculationRecordRepository profitCalculationRecordRepository) {
+                                      ProfitCalculationRecordRepository profitCalculationRecordRepository,
+                                      MenuItemCostService menuItemCostService,
+                                      ProfitRecordWriteBehindBuffer writeBehindBuffer) {
         this.menuItemRepository = menuItemRepository;
         this.recipeIngredientRepository = recipeIngredientRepository;
         this.ingredientRepository = ingredientRepository;
         this.profitCalculationRecordRepository = profitCalculationRecordRepository;
+        this.menuItemCostService = menuItemCostService;
+        this.writeBehindBuffer = writeBehindBuffer;
     }
     
     @Override
     public ProfitCalculationRecord calculateProfit(Long menuItemId) {
+        // Read from the database, not the node-local cache: the selling price goes into the history and the cost
+        // snapshot, and a cached copy can lag a price change made on another node
         MenuItem menuItem = menuItemRepository.findById(menuItemId)
             .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
         
-        List<RecipeIngredient> recipeIngredients = recipeIngredientRepository.findByMenuItemId(menuItemId);
-        if (recipeIngredients.isEmpty()) {
+        // Projection query: cost per unit and quantity come back in one statement without hydrating entities
+        List<RecipeCostLine> costLines = recipeIngredientRepository.findCostLinesByMenuItemId(menuItemId);
+        if (costLines.isEmpty()) {
             throw new BadRequestException("Cannot calculate profit for menu item without ingredients");
         }
         
-        BigDecimal totalCost = BigDecimal.ZERO;
-        for (RecipeIngredient ri : recipeIngredients) {
-            BigDecimal ingredientCost = ri.getIngredient().getCostPerUnit()
-                .multiply(BigDecimal.valueOf(ri.getQuantity()));
-            totalCost = totalCost.add(ingredientCost);
+        CostKernel.Accumulator totalCost = new CostKernel.Accumulator();
+        for (RecipeCostLine line : costLines) {
+            totalCost.add(line.getCostPerUnit(), line.getQuantity());
         }
         
-        BigDecimal profit = menuItem.getSellingPrice().subtract(totalCost);
-        Double profitMargin = profit.divide(menuItem.getSellingPrice(), 4, BigDecimal.ROUND_HALF_UP)
-            .multiply(BigDecimal.valueOf(100)).doubleValue();
-        
         ProfitCalculationRecord record = new ProfitCalculationRecord();
         record.setMenuItem(menuItem);
-        record.setTotalCost(totalCost);
-        record.setProfitMargin(profitMargin);
+        record.setTotalCost(totalCost.total());
+        record.setProfitMargin(totalCost.profitMargin(menuItem.getSellingPrice()));
         
+        try {
+            menuItemCostService.recordCalculations(List.of(record));
+        } catch (DataAccessException e) {
+            // The snapshot is only a cache of this result; the next calculation or cost change brings it up to date
+            log.warn("Could not refresh the cost snapshot of menu item {}: {}", menuItemId, e.getMessage());
+        }
+        if (writeBehindBuffer.isEnabled()) {
+            // Returned before the history row exists, so the record has no id yet
+            record.setCalculatedAt(LocalDateTime.now());
+            writeBehindBuffer.enqueue(record);
+            return record;
+        }
         return profitCalculationRecordRepository.save(record);
     }
     
+    @Override
+    @Transactional
+    public List<ProfitCalculationRecord> calculateProfitBatch(Collection<Long> menuItemIds) {
+        if (menuItemIds == null || menuItemIds.isEmpty()) {
+            throw new BadRequestException("At least one menu item id is required");
+        }
+        List<MenuItem> menuItems = menuItemRepository.findAllById(menuItemIds);
+        List<RecipeCostLine> costLines = recipeIngredientRepository.findCostLinesByMenuItemIds(menuItemIds);
+        return recordCalculations(menuItems, costLines);
+    }
+    
+    @Override
+    @Transactional
+    public List<ProfitCalculationRecord> calculateProfitForAllActive() {
+        List<MenuItem> menuItems = menuItemRepository.findByActiveTrue();
+        List<RecipeCostLine> costLines = recipeIngredientRepository.findCostLinesForActiveMenuItems();
+        return recordCalculations(menuItems, costLines);
+    }
+    
+    // Aggregates all recipe lines in one pass and writes the records in JDBC batches
+    private List<ProfitCalculationRecord> recordCalculations(List<MenuItem> menuItems, List<RecipeCostLine> costLines) {
+        // One accumulator per menu item; the lines themselves are summed without allocating
+        Map<Long, CostKernel.Accumulator> totalCosts = new HashMap<>();
+        for (RecipeCostLine line : costLines) {
+            totalCosts.computeIfAbsent(line.getMenuItemId(), id -> new CostKernel.Accumulator())
+                .add(line.getCostPerUnit(), line.getQuantity());
+        }
+        
+        LocalDateTime calculatedAt = LocalDateTime.now();
+        List<ProfitCalculationRecord> records = new ArrayList<>(menuItems.size());
+        for (MenuItem menuItem : menuItems) {
+            CostKernel.Accumulator totalCost = totalCosts.get(menuItem.getId());
+            if (totalCost == null) {
+                // Items without ingredients are skipped, as calculateProfit would reject them
+                continue;
+            }
+            ProfitCalculationRecord record = new ProfitCalculationRecord();
+            record.setMenuItem(menuItem);
+            record.setTotalCost(totalCost.total());
+            record.setProfitMargin(totalCost.profitMargin(menuItem.getSellingPrice()));
+            record.setCalculatedAt(calculatedAt);
+            records.add(record);
+        }
+        
+        profitCalculationRecordRepository.batchInsert(records);
+        menuItemCostService.recordCalculations(records);
+        return records;
+    }
+    
+    static Double calculateProfitMargin(BigDecimal sellingPrice, BigDecimal totalCost) {
+        return CostKernel.profitMargin(sellingPrice, totalCost);
+    }
+    
     @Override
     public ProfitCalculationRecord getCalculationById(Long id) {
         return profitCalculationRecordRepository.findById(id)
@@ -72,16 +162,57 @@ public class ProfitCalculationServiceImpl implements ProfitCalculationService {
         return profitCalculationRecordRepository.findByMenuItemId(menuItemId);
     }
     
+    @Override
+    public ProfitCalculationRecord getLatestCalculationForMenuItem(Long menuItemId) {
+        return profitCalculationRecordRepository.findFirstByMenuItemIdOrderByCalculatedAtDescIdDesc(menuItemId)
+            .orElseThrow(() -> new ResourceNotFoundException("No calculation found for menu item"));
+    }
+    
+    @Override
+    public Page<ProfitCalculationRecord> getLatestCalculations(Pageable pageable) {
+        return profitCalculationRecordRepository.findLatestPerMenuItem(pageable);
+    }
+    
     @Override
     public List<ProfitCalculationRecord> getAllCalculations() {
         return profitCalculationRecordRepository.findAll();
     }
     
+    @Override
+    public List<ProfitCalculationRecord> getCalculationsAfter(Long afterId, int limit) {
+        return profitCalculationRecordRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCalculations(Consumer<ProfitCalculationRecord> consumer) {
+        EntityStreams.forEachDetached(entityManager, profitCalculationRecordRepository.streamAllWithMenuItem(), consumer);
+    }
+    
     @Override
     public List<ProfitCalculationRecord> findRecordsWithMarginBetween(Double min, Double max) {
-        // This method is used in tests with spy - implementation can be simple
-        return profitCalculationRecordRepository.findAll().stream()
-            .filter(record -> record.getProfitMargin() >= min && record.getProfitMargin() <= max)
-            .toList();
+        validateMarginRange(min, max);
+        return profitCalculationRecordRepository.findByProfitMarginBetween(min, max);
+    }
+    
+    @Override
+    public Page<ProfitCalculationRecord> findRecordsWithMarginBetween(Double min, Double max, boolean latestOnly,
+                                                                     Pageable pageable) {
+        validateMarginRange(min, max);
+        if (latestOnly) {
+            return profitCalculationRecordRepository.findLatestByProfitMarginBetween(min, max, pageable);
+        }
+        return profitCalculationRecordRepository.findByProfitMarginBetween(min, max, pageable);
+    }
+    
+    private void validateMarginRange(Double min, Double max) {
+        if (min == null || max == null || min > max) {
+            throw new BadRequestException("Minimum margin must not be greater than maximum margin");
+        }
+    }
+    
+    @Override
+    public WriteBehindStatsResponse getWriteBehindStats() {
+        return writeBehindBuffer.getStats();
     }
 }
\ No newline at end of file
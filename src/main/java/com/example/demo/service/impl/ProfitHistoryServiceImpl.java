@@ -0,0 +1,139 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.entity.ProfitCalculationDailyRollup;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.repository.ProfitCalculationDailyRollupRepository;
+import com.example.demo.repository.ProfitCalculationRecordRepository;
+import com.example.demo.repository.projection.CompactableRecord;
+import com.example.demo.service.ProfitHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ProfitHistoryServiceImpl implements ProfitHistoryService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProfitHistoryServiceImpl.class);
+    
+    private final ProfitCalculationRecordRepository profitCalculationRecordRepository;
+    private final ProfitCalculationDailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int rawDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    
+    public ProfitHistoryServiceImpl(ProfitCalculationRecordRepository profitCalculationRecordRepository,
+                                    ProfitCalculationDailyRollupRepository rollupRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.profit.retention.enabled:true}") boolean enabled,
+                                    @Value("${app.profit.retention.raw-days:90}") int rawDays,
+                                    @Value("${app.profit.retention.batch-size:1000}") int batchSize,
+                                    @Value("${app.profit.retention.max-batches-per-run:1000}") int maxBatchesPerRun) {
+        this.profitCalculationRecordRepository = profitCalculationRecordRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.rawDays = rawDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+    
+    @Scheduled(cron = "${app.profit.retention.cron:0 30 3 * * *}")
+    public void scheduledCompaction() {
+        if (enabled) {
+            int compacted = compactHistory();
+            log.info("Compacted {} profit calculation records into daily rollups", compacted);
+        }
+    }
+    
+    // Every batch commits on its own, so row locks are only ever held for batchSize records
+    @Override
+    public int compactHistory() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(rawDays).atStartOfDay();
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer compacted = transactionTemplate.execute(status -> compactBatch(cutoff));
+            if (compacted == null || compacted == 0) {
+                break;
+            }
+            total += compacted;
+        }
+        return total;
+    }
+    
+    private int compactBatch(LocalDateTime cutoff) {
+        List<CompactableRecord> records = profitCalculationRecordRepository.findCompactableBefore(cutoff, Limit.of(batchSize));
+        if (records.isEmpty()) {
+            return 0;
+        }
+        
+        // Deleting first claims the rows: a concurrent run on another node blocks here and then sees fewer rows
+        List<Long> ids = records.stream().map(CompactableRecord::getId).toList();
+        if (profitCalculationRecordRepository.deleteByIdIn(ids) != ids.size()) {
+            throw new OptimisticLockingFailureException("Profit calculation records were compacted concurrently");
+        }
+        
+        Set<Long> menuItemIds = new HashSet<>();
+        LocalDate firstDay = records.get(0).getCalculatedAt().toLocalDate();
+        LocalDate lastDay = records.get(records.size() - 1).getCalculatedAt().toLocalDate();
+        records.forEach(record -> menuItemIds.add(record.getMenuItemId()));
+        
+        Map<RollupKey, ProfitCalculationDailyRollup> rollups = new HashMap<>();
+        for (ProfitCalculationDailyRollup rollup : rollupRepository.findByMenuItemIdInAndRollupDateBetween(menuItemIds, firstDay, lastDay)) {
+            rollups.put(new RollupKey(rollup.getMenuItemId(), rollup.getRollupDate()), rollup);
+        }
+        for (CompactableRecord record : records) {
+            LocalDate day = record.getCalculatedAt().toLocalDate();
+            ProfitCalculationDailyRollup rollup = rollups.computeIfAbsent(new RollupKey(record.getMenuItemId(), day), key -> {
+                ProfitCalculationDailyRollup created = new ProfitCalculationDailyRollup();
+                created.setMenuItemId(key.menuItemId());
+                created.setRollupDate(key.day());
+                return created;
+            });
+            merge(rollup, record);
+        }
+        rollupRepository.saveAll(rollups.values());
+        return records.size();
+    }
+    
+    private static void merge(ProfitCalculationDailyRollup rollup, CompactableRecord record) {
+        double margin = record.getProfitMargin();
+        rollup.setRecordCount(rollup.getRecordCount() + 1);
+        rollup.setMarginSum(rollup.getMarginSum() + margin);
+        rollup.setMinMargin(rollup.getMinMargin() == null ? margin : Math.min(rollup.getMinMargin(), margin));
+        rollup.setMaxMargin(rollup.getMaxMargin() == null ? margin : Math.max(rollup.getMaxMargin(), margin));
+        
+        rollup.setCostSum(rollup.getCostSum().add(record.getTotalCost()));
+        if (rollup.getMinCost() == null || record.getTotalCost().compareTo(rollup.getMinCost()) < 0) {
+            rollup.setMinCost(record.getTotalCost());
+        }
+        if (rollup.getMaxCost() == null || record.getTotalCost().compareTo(rollup.getMaxCost()) > 0) {
+            rollup.setMaxCost(record.getTotalCost());
+        }
+    }
+    
+    @Override
+    public List<ProfitCalculationDailyRollup> getDailyRollups(Long menuItemId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("From date must not be after to date");
+        }
+        return rollupRepository.findByMenuItemIdAndRollupDateBetweenOrderByRollupDateAsc(menuItemId, from, to);
+    }
+    
+    private record RollupKey(Long menuItemId, LocalDate day) {
+    }
+}
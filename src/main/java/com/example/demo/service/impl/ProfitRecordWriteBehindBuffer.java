@@ -0,0 +1,171 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.WriteBehindStatsResponse;
+import com.example.demo.entity.ProfitCalculationRecord;
+import com.example.demo.repository.ProfitCalculationRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Queues profit calculation records and writes them from a background thread in JDBC batches
+@Component
+public class ProfitRecordWriteBehindBuffer {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProfitRecordWriteBehindBuffer.class);
+    
+    private final ProfitCalculationRecordRepository profitCalculationRecordRepository;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final int retryAttempts;
+    private final BlockingQueue<ProfitCalculationRecord> queue;
+    
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder writtenInline = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    
+    private volatile boolean running;
+    private Thread writer;
+    
+    public ProfitRecordWriteBehindBuffer(ProfitCalculationRecordRepository profitCalculationRecordRepository,
+                                         @Value("${app.profit.write-behind.enabled:false}") boolean enabled,
+                                         @Value("${app.profit.write-behind.capacity:10000}") int capacity,
+                                         @Value("${app.profit.write-behind.batch-size:500}") int batchSize,
+                                         @Value("${app.profit.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                         @Value("${app.profit.write-behind.offer-timeout-ms:100}") long offerTimeoutMs,
+                                         @Value("${app.profit.write-behind.retry-attempts:3}") int retryAttempts) {
+        this.profitCalculationRecordRepository = profitCalculationRecordRepository;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.retryAttempts = retryAttempts;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "profit-record-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    // Backpressure: once the queue stays full past the offer timeout, or the writer thread has died,
+    // the caller writes the record itself
+    public void enqueue(ProfitCalculationRecord record) {
+        enqueued.increment();
+        try {
+            if (running && writer.isAlive() && queue.offer(record, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writtenInline.increment();
+        writeOrIsolate(List.of(record));
+    }
+    
+    private void runWriter() {
+        List<ProfitCalculationRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ProfitCalculationRecord first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                // Whatever happens to one batch, the writer must keep draining the queue
+                failed.add(batch.size());
+                log.error("Profit record writer failed on a batch of {}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    // Transient failures (lost connection, lock timeout) are retried with a growing pause; a batch that
+    // still fails is written record by record so one bad record cannot take the rest down with it
+    private void writeWithRetry(List<ProfitCalculationRecord> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= retryAttempts; attempt++) {
+            if (tryWrite(batch)) {
+                return;
+            }
+            retried.increment();
+            TimeUnit.MILLISECONDS.sleep(flushIntervalMs * attempt);
+        }
+        writeOrIsolate(batch);
+    }
+    
+    private void writeOrIsolate(List<ProfitCalculationRecord> batch) {
+        if (tryWrite(batch)) {
+            return;
+        }
+        for (ProfitCalculationRecord record : batch) {
+            if (!tryWrite(List.of(record))) {
+                failed.increment();
+            }
+        }
+    }
+    
+    private boolean tryWrite(List<ProfitCalculationRecord> batch) {
+        try {
+            profitCalculationRecordRepository.batchInsert(batch);
+            written.add(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            // The rolled-back insert already assigned sequence ids; clear them so the records persist as new again
+            batch.forEach(record -> record.setId(null));
+            log.warn("Failed to write {} profit calculation records: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+    
+    // Stops the writer and synchronously flushes whatever is still queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // The writer notices within one poll interval and finishes its in-flight batch first
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<ProfitCalculationRecord> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeOrIsolate(batch);
+            batch.clear();
+        }
+    }
+    
+    public WriteBehindStatsResponse getStats() {
+        return new WriteBehindStatsResponse(enabled, writer != null && writer.isAlive(), queue.size(), capacity,
+            enqueued.sum(), written.sum(), writtenInline.sum(), retried.sum(), failed.sum());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.dto.IngredientDemandRequest;
+import com.example.demo.dto.IngredientDemandResponse;
 import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.MenuItem;
 import com.example.demo.entity.RecipeIngredient;
@@ -7,10 +9,26 @@ import com.example.demo.exception.BadRequestException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.IngredientRepository;
 import com.example.demo.repository.MenuItemRepository;
+import com.example.demo.repository.PrepComponentRepository;
 import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.repository.projection.IngredientDemand;
+import com.example.demo.repository.projection.MenuItemIngredientDemand;
+import com.example.demo.service.MenuItemCostService;
 import com.example.demo.service.RecipeIngredientService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RecipeIngredientServiceImpl implements RecipeIngredientService {
@@ -18,16 +36,23 @@ public class RecipeIngredientServiceImpl implements RecipeIngredientService {
     private final RecipeIngredientRepository recipeIngredientRepository;
     private final IngredientRepository ingredientRepository;
     private final MenuItemRepository menuItemRepository;
+    private final MenuItemCostService menuItemCostService;
+    private final PrepComponentRepository prepComponentRepository;
     
     public RecipeIngredientServiceImpl(RecipeIngredientRepository recipeIngredientRepository,
                                      IngredientRepository ingredientRepository,
-                                     MenuItemRepository menuItemRepository) {
+                                     MenuItemRepository menuItemRepository,
+                                     MenuItemCostService menuItemCostService,
+                                     PrepComponentRepository prepComponentRepository) {
         this.recipeIngredientRepository = recipeIngredientRepository;
         this.ingredientRepository = ingredientRepository;
         this.menuItemRepository = menuItemRepository;
+        this.menuItemCostService = menuItemCostService;
+        this.prepComponentRepository = prepComponentRepository;
     }
     
     @Override
+    @Transactional
     public RecipeIngredient addIngredientToMenuItem(RecipeIngredient recipeIngredient) {
         if (recipeIngredient.getQuantity() <= 0) {
             throw new BadRequestException("Quantity must be greater than 0");
@@ -42,10 +67,13 @@ public class RecipeIngredientServiceImpl implements RecipeIngredientService {
         recipeIngredient.setIngredient(ingredient);
         recipeIngredient.setMenuItem(menuItem);
         
-        return recipeIngredientRepository.save(recipeIngredient);
+        RecipeIngredient saved = recipeIngredientRepository.save(recipeIngredient);
+        applyCostChange(saved, BigDecimal.valueOf(saved.getQuantity()));
+        return saved;
     }
     
     @Override
+    @Transactional
     public RecipeIngredient updateRecipeIngredient(Long id, Double quantity) {
         RecipeIngredient existing = recipeIngredientRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Recipe ingredient not found"));
@@ -54,24 +82,133 @@ public class RecipeIngredientServiceImpl implements RecipeIngredientService {
             throw new BadRequestException("Quantity must be greater than 0");
         }
         
+        Double previousQuantity = existing.getQuantity();
         existing.setQuantity(quantity);
-        return recipeIngredientRepository.save(existing);
+        RecipeIngredient saved = recipeIngredientRepository.save(existing);
+        applyCostChange(saved, BigDecimal.valueOf(quantity).subtract(BigDecimal.valueOf(previousQuantity)));
+        return saved;
     }
     
     @Override
     public List<RecipeIngredient> getIngredientsByMenuItem(Long menuItemId) {
-        return recipeIngredientRepository.findByMenuItemId(menuItemId);
+        return recipeIngredientRepository.findWithIngredientAndMenuItemByMenuItemId(menuItemId);
     }
     
     @Override
+    @Transactional
     public void removeIngredientFromRecipe(Long id) {
         RecipeIngredient recipeIngredient = recipeIngredientRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Recipe ingredient not found"));
         recipeIngredientRepository.delete(recipeIngredient);
+        applyCostChange(recipeIngredient, BigDecimal.valueOf(recipeIngredient.getQuantity()).negate());
     }
     
     @Override
     public Double getTotalQuantityOfIngredient(Long ingredientId) {
         return recipeIngredientRepository.getTotalQuantityByIngredientId(ingredientId);
     }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamIngredientDemand(IngredientDemandRequest request, Consumer<IngredientDemandResponse> consumer) {
+        List<Long> ingredientIds = request.getIngredientIds();
+        boolean filtered = ingredientIds != null && !ingredientIds.isEmpty();
+        Map<Long, Double> volumes = request.getMenuItemVolumes();
+        boolean weighted = volumes != null && !volumes.isEmpty();
+        Map<Long, Double> prepYields = ingredientRepository.findByPrepTrue().stream()
+            .collect(Collectors.toMap(Ingredient::getId, Ingredient::getYieldQuantity));
+        if (!prepYields.isEmpty()) {
+            streamExpandedDemand(filtered ? ingredientIds : null, volumes, weighted, prepYields, consumer);
+            return;
+        }
+        
+        // Without preps every row is final, so rows go straight to the consumer
+        if (!weighted) {
+            try (Stream<IngredientDemand> demand = filtered
+                    ? recipeIngredientRepository.streamIngredientDemand(ingredientIds)
+                    : recipeIngredientRepository.streamIngredientDemand()) {
+                demand.forEach(row -> consumer.accept(new IngredientDemandResponse(row.getIngredientId(),
+                    row.getName(), row.getUnit(), row.getTotalQuantity(), false)));
+            }
+            return;
+        }
+        
+        try (Stream<MenuItemIngredientDemand> rows = filtered
+                ? recipeIngredientRepository.streamIngredientDemandByMenuItem(volumes.keySet(), ingredientIds)
+                : recipeIngredientRepository.streamIngredientDemandByMenuItem(volumes.keySet())) {
+            foldWeighted(rows.iterator(), volumes, consumer);
+        }
+    }
+    
+    // Recipes that use a prep need its components too, quantity / yield per unit of the prep through every level.
+    // Prep rows are still reported, flagged, next to the raw ingredients whose totals now include them. The totals are
+    // only complete once every row is read, so they are collected per ingredient before anything is emitted.
+    private void streamExpandedDemand(List<Long> ingredientIds, Map<Long, Double> volumes, boolean weighted,
+                                      Map<Long, Double> prepYields, Consumer<IngredientDemandResponse> consumer) {
+        PrepCostGraph graph = new PrepCostGraph(prepComponentRepository.findAllEdges());
+        // A filtered ingredient is also needed through every prep made from it
+        Collection<Long> queried = ingredientIds != null ? graph.withDependents(ingredientIds) : null;
+        Map<Long, Double> demand = new HashMap<>();
+        Map<Long, IngredientDemandResponse> rows = new TreeMap<>();
+        if (!weighted) {
+            try (Stream<IngredientDemand> direct = queried != null
+                    ? recipeIngredientRepository.streamIngredientDemand(queried)
+                    : recipeIngredientRepository.streamIngredientDemand()) {
+                direct.forEach(row -> {
+                    demand.put(row.getIngredientId(), row.getTotalQuantity());
+                    rows.put(row.getIngredientId(), new IngredientDemandResponse(row.getIngredientId(), row.getName(),
+                        row.getUnit(), null, prepYields.containsKey(row.getIngredientId())));
+                });
+            }
+        } else {
+            try (Stream<MenuItemIngredientDemand> direct = queried != null
+                    ? recipeIngredientRepository.streamIngredientDemandByMenuItem(volumes.keySet(), queried)
+                    : recipeIngredientRepository.streamIngredientDemandByMenuItem(volumes.keySet())) {
+                direct.forEach(row -> {
+                    demand.merge(row.getIngredientId(), row.getQuantity() * volumes.get(row.getMenuItemId()), Double::sum);
+                    rows.computeIfAbsent(row.getIngredientId(), id -> new IngredientDemandResponse(id, row.getName(),
+                        row.getUnit(), null, prepYields.containsKey(id)));
+                });
+            }
+        }
+        
+        Map<Long, Double> totals = graph.expandDemand(demand, prepYields);
+        Set<Long> undescribed = new HashSet<>(totals.keySet());
+        undescribed.removeAll(rows.keySet());
+        if (!undescribed.isEmpty()) {
+            ingredientRepository.findAllById(undescribed).forEach(ingredient -> rows.put(ingredient.getId(),
+                new IngredientDemandResponse(ingredient.getId(), ingredient.getName(), ingredient.getUnit(), null,
+                    prepYields.containsKey(ingredient.getId()))));
+        }
+        for (IngredientDemandResponse row : rows.values()) {
+            if (ingredientIds == null || ingredientIds.contains(row.getIngredientId())) {
+                row.setTotalQuantity(totals.get(row.getIngredientId()));
+                consumer.accept(row);
+            }
+        }
+    }
+    
+    // Rows arrive ordered by ingredient, so each ingredient's weighted total is emitted as soon as its rows end
+    private static void foldWeighted(Iterator<MenuItemIngredientDemand> rows, Map<Long, Double> volumes,
+                                     Consumer<IngredientDemandResponse> consumer) {
+        MenuItemIngredientDemand current = null;
+        double total = 0;
+        while (rows.hasNext()) {
+            MenuItemIngredientDemand row = rows.next();
+            if (current != null && !current.getIngredientId().equals(row.getIngredientId())) {
+                consumer.accept(new IngredientDemandResponse(current.getIngredientId(), current.getName(), current.getUnit(), total, false));
+                total = 0;
+            }
+            current = row;
+            total += row.getQuantity() * volumes.get(row.getMenuItemId());
+        }
+        if (current != null) {
+            consumer.accept(new IngredientDemandResponse(current.getIngredientId(), current.getName(), current.getUnit(), total, false));
+        }
+    }
+    
+    private void applyCostChange(RecipeIngredient recipeIngredient, BigDecimal quantityDelta) {
+        BigDecimal costDelta = recipeIngredient.getIngredient().getCostPerUnit().multiply(quantityDelta);
+        menuItemCostService.applyRecipeChange(recipeIngredient.getMenuItem().getId(), costDelta);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.catalog.MenuCatalog;
+import com.example.demo.dto.RealizedProfitItem;
+import com.example.demo.dto.RealizedProfitResponse;
+import com.example.demo.dto.SalesCounterStatsResponse;
+import com.example.demo.dto.SalesEvent;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repository.MenuItemSalesHourlyRepository;
+import com.example.demo.repository.projection.RealizedProfitLine;
+import com.example.demo.service.SalesService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class SalesServiceImpl implements SalesService {
+    
+    private final SalesVolumeCounters salesVolumeCounters;
+    private final MenuItemSalesHourlyRepository salesRepository;
+    private final MenuCatalog menuCatalog;
+    private final int maxEventsPerRequest;
+    
+    public SalesServiceImpl(SalesVolumeCounters salesVolumeCounters,
+                            MenuItemSalesHourlyRepository salesRepository,
+                            MenuCatalog menuCatalog,
+                            @Value("${app.sales.max-events-per-request:10000}") int maxEventsPerRequest) {
+        this.salesVolumeCounters = salesVolumeCounters;
+        this.salesRepository = salesRepository;
+        this.menuCatalog = menuCatalog;
+        this.maxEventsPerRequest = maxEventsPerRequest;
+    }
+    
+    // Events are only counted in memory here; menu item ids are checked against the in-memory catalog, not the database
+    @Override
+    public int recordSales(List<SalesEvent> events) {
+        if (events == null || events.isEmpty()) {
+            throw new BadRequestException("At least one sales event is required");
+        }
+        if (events.size() > maxEventsPerRequest) {
+            throw new BadRequestException("At most " + maxEventsPerRequest + " sales events per request");
+        }
+        // Validated up front so a rejected request records nothing
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> unknown = new TreeSet<>();
+        for (SalesEvent event : events) {
+            if (event.getMenuItemId() == null) {
+                throw new BadRequestException("Menu item id is required for every sales event");
+            }
+            if (event.getQuantity() == null || event.getQuantity() <= 0) {
+                throw new BadRequestException("Quantity must be greater than 0");
+            }
+            if (event.getSoldAt() != null && !salesVolumeCounters.accepts(event.getSoldAt(), now)) {
+                throw new BadRequestException("Sold at must be within the last " + salesVolumeCounters.getRetainedHours()
+                    + " hours and not in the future: " + event.getSoldAt());
+            }
+            if (!menuCatalog.contains(event.getMenuItemId())) {
+                unknown.add(event.getMenuItemId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new ResourceNotFoundException("Active menu item not found: " + unknown);
+        }
+        for (SalesEvent event : events) {
+            salesVolumeCounters.record(event.getMenuItemId(), event.getSoldAt() != null ? event.getSoldAt() : now, event.getQuantity());
+        }
+        return events.size();
+    }
+    
+    // Reflects flushed counters only, so the most recent flush interval of sales may not be included yet
+    @Override
+    @Transactional(readOnly = true)
+    public RealizedProfitResponse getRealizedProfit(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("From must be before to");
+        }
+        long totalQuantity = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        BigDecimal totalProfit = BigDecimal.ZERO;
+        BigDecimal uncostedRevenue = BigDecimal.ZERO;
+        List<RealizedProfitItem> items = new ArrayList<>();
+        for (RealizedProfitLine line : salesRepository.findRealizedProfitLines(from, to)) {
+            BigDecimal quantity = BigDecimal.valueOf(line.getQuantity());
+            BigDecimal revenue = line.getSellingPrice().multiply(quantity);
+            BigDecimal cost = line.getTotalCost() != null ? line.getTotalCost().multiply(quantity) : null;
+            BigDecimal profit = cost != null ? revenue.subtract(cost) : null;
+            items.add(new RealizedProfitItem(line.getMenuItemId(), line.getName(), line.getQuantity(), revenue, cost, profit));
+            
+            totalQuantity += line.getQuantity();
+            if (cost != null) {
+                totalRevenue = totalRevenue.add(revenue);
+                totalCost = totalCost.add(cost);
+                totalProfit = totalProfit.add(profit);
+            } else {
+                uncostedRevenue = uncostedRevenue.add(revenue);
+            }
+        }
+        return new RealizedProfitResponse(from, to, totalQuantity, totalRevenue, totalCost, totalProfit, uncostedRevenue, items);
+    }
+    
+    @Override
+    public SalesCounterStatsResponse getCounterStats() {
+        return salesVolumeCounters.getStats();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.SalesCounterStatsResponse;
+import com.example.demo.repository.MenuItemSalesHourlyRepository;
+import com.example.demo.repository.projection.SalesDelta;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Units sold per menu item and hour, counted in memory. Recording is a map lookup plus a LongAdder increment, so
+// ingesting threads never share a lock; a scheduled flush adds the accumulated deltas to menu_item_sales_hourly.
+@Component
+public class SalesVolumeCounters {
+    
+    private static final Logger log = LoggerFactory.getLogger(SalesVolumeCounters.class);
+    
+    private final MenuItemSalesHourlyRepository salesRepository;
+    private final long retainedHours;
+    private final long maxClockSkewMinutes;
+    private final ConcurrentHashMap<Bucket, LongAdder> counters = new ConcurrentHashMap<>();
+    
+    private final LongAdder eventsReceived = new LongAdder();
+    private final LongAdder unitsFlushed = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    
+    public SalesVolumeCounters(MenuItemSalesHourlyRepository salesRepository,
+                               @Value("${app.sales.retained-hours:2}") long retainedHours,
+                               @Value("${app.sales.max-clock-skew-minutes:5}") long maxClockSkewMinutes) {
+        this.salesRepository = salesRepository;
+        this.retainedHours = retainedHours;
+        this.maxClockSkewMinutes = maxClockSkewMinutes;
+    }
+    
+    // Only hours still held in memory are accepted, plus a little skew for POS clocks running ahead of ours.
+    // Anything older would start a counter for an hour the flush has already dropped.
+    public boolean accepts(LocalDateTime soldAt, LocalDateTime now) {
+        return !soldAt.isBefore(oldestRetained(now)) && !soldAt.isAfter(now.plusMinutes(maxClockSkewMinutes));
+    }
+    
+    public long getRetainedHours() {
+        return retainedHours;
+    }
+    
+    public void record(Long menuItemId, LocalDateTime soldAt, long quantity) {
+        if (menuItemId == null || !accepts(soldAt, LocalDateTime.now())) {
+            throw new IllegalArgumentException("Sale of menu item " + menuItemId + " at " + soldAt + " is outside the counted window");
+        }
+        add(new Bucket(menuItemId, soldAt.truncatedTo(ChronoUnit.HOURS)), quantity);
+        eventsReceived.increment();
+    }
+    
+    private void add(Bucket bucket, long quantity) {
+        LongAdder counter = counters.get(bucket);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(bucket, key -> new LongAdder());
+        }
+        counter.add(quantity);
+    }
+    
+    // sumThenReset swaps every cell to zero atomically, so units recorded during the flush stay for the next one
+    @Scheduled(fixedDelayString = "${app.sales.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        LocalDateTime oldestRetained = oldestRetained(LocalDateTime.now());
+        List<SalesDelta> deltas = new ArrayList<>();
+        long units = 0;
+        for (Map.Entry<Bucket, LongAdder> entry : counters.entrySet()) {
+            Bucket bucket = entry.getKey();
+            long quantity = entry.getValue().sumThenReset();
+            if (bucket.hourStart().isBefore(oldestRetained) && counters.remove(bucket, entry.getValue())) {
+                // Past hours are dropped from memory; a late event for one starts a fresh counter
+                quantity += entry.getValue().sumThenReset();
+            }
+            if (quantity > 0) {
+                deltas.add(new SalesDelta(bucket.menuItemId(), bucket.hourStart(), quantity));
+                units += quantity;
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            salesRepository.addQuantities(deltas);
+            unitsFlushed.add(units);
+        } catch (RuntimeException e) {
+            // The batch rolled back as a whole, or never started when no connection could be had, so every delta goes
+            // back to be retried by the next flush
+            flushFailures.increment();
+            deltas.forEach(delta -> add(new Bucket(delta.menuItemId(), delta.hourStart()), delta.quantity()));
+            log.warn("Could not flush {} sales counters: {}", deltas.size(), e.getMessage());
+        }
+    }
+    
+    private LocalDateTime oldestRetained(LocalDateTime now) {
+        return now.truncatedTo(ChronoUnit.HOURS).minusHours(retainedHours);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+    
+    public SalesCounterStatsResponse getStats() {
+        return new SalesCounterStatsResponse(counters.size(), eventsReceived.sum(), unitsFlushed.sum(), flushFailures.sum());
+    }
+    
+    private record Bucket(Long menuItemId, LocalDateTime hourStart) {
+    }
+}
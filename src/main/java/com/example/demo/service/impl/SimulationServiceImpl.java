@@ -0,0 +1,287 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.PriceChange;
+import com.example.demo.dto.SimulatedMargin;
+import com.example.demo.dto.SimulationRequest;
+import com.example.demo.dto.SimulationResponse;
+import com.example.demo.dto.SweepAxis;
+import com.example.demo.dto.SweepAxisResult;
+import com.example.demo.dto.SweepPoint;
+import com.example.demo.dto.SweepRequest;
+import com.example.demo.dto.SweepResponse;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repository.IngredientRepository;
+import com.example.demo.service.SimulationService;
+import com.example.demo.simulation.MenuCostModel;
+import com.example.demo.simulation.MenuCostModelProvider;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+@Service
+public class SimulationServiceImpl implements SimulationService {
+    
+    private static final int MAX_SWEEP_POINTS_PER_AXIS = 1_000;
+    private static final int MAX_SWEEP_SCENARIOS = 50_000;
+    
+    private final MenuCostModelProvider menuCostModelProvider;
+    private final IngredientRepository ingredientRepository;
+    // Dedicated pool so long sweeps never starve the common pool used by parallel streams elsewhere
+    private final ForkJoinPool sweepPool;
+    
+    public SimulationServiceImpl(MenuCostModelProvider menuCostModelProvider,
+                                 IngredientRepository ingredientRepository,
+                                 @Value("${app.simulation.sweep-parallelism:0}") int sweepParallelism) {
+        this.menuCostModelProvider = menuCostModelProvider;
+        this.ingredientRepository = ingredientRepository;
+        this.sweepPool = new ForkJoinPool(sweepParallelism > 0 ? sweepParallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sweepPool.shutdownNow();
+    }
+    
+    // Evaluated against the in-memory snapshot; the database is only asked about ingredient ids the snapshot lacks
+    @Override
+    public SimulationResponse simulate(SimulationRequest request) {
+        if (request.getPriceChanges() == null || request.getPriceChanges().isEmpty()) {
+            throw new BadRequestException("At least one price change is required");
+        }
+        request.getPriceChanges().forEach(SimulationServiceImpl::validatePriceChange);
+        // Each change replaces the ingredient's cost, so two changes to one ingredient have no single meaning
+        Set<Long> ingredientIds = new HashSet<>();
+        for (PriceChange change : request.getPriceChanges()) {
+            if (!ingredientIds.add(change.getIngredientId())) {
+                throw new BadRequestException("Ingredient " + change.getIngredientId() + " has more than one price change");
+            }
+        }
+        MenuCostModel model = menuCostModelProvider.getModel();
+        Map<Long, Double> outsideCosts = costsOutsideModel(model,
+            request.getPriceChanges().stream().map(PriceChange::getIngredientId).toList());
+        long start = System.nanoTime();
+        
+        Map<Long, BigDecimal> newCosts = new HashMap<>();
+        for (PriceChange change : request.getPriceChanges()) {
+            Long ingredientId = change.getIngredientId();
+            newCosts.put(ingredientId, BigDecimal.valueOf(newCost(change, currentCost(model, outsideCosts, ingredientId))));
+        }
+        double[] costDeltas = new double[model.menuItemCount()];
+        BitSet affected = new BitSet(model.menuItemCount());
+        // Changes reach menu items through every prep above them, so those preps are re-costed first. Ingredients
+        // outside every active recipe and prep cannot change any margin.
+        new PrepCostGraph(model.getPrepEdges()).rollUpChanges(newCosts, model.getPrepYields()).forEach((ingredientId, cost) -> {
+            int ingredient = model.indexOfIngredient(ingredientId);
+            if (ingredient >= 0) {
+                model.addCostDeltas(ingredient, cost.doubleValue(), costDeltas, affected);
+            }
+        });
+        
+        List<SimulatedMargin> items = new ArrayList<>(affected.cardinality());
+        for (int item = affected.nextSetBit(0); item >= 0; item = affected.nextSetBit(item + 1)) {
+            double currentCost = model.baseCost(item);
+            double simulatedCost = currentCost + costDeltas[item];
+            items.add(new SimulatedMargin(model.menuItemId(item), model.menuItemName(item), currentCost, simulatedCost,
+                MenuCostModel.margin(model.sellingPrice(item), currentCost),
+                MenuCostModel.margin(model.sellingPrice(item), simulatedCost)));
+        }
+        // Largest margin loss first
+        items.sort(Comparator.comparingDouble(SimulatedMargin::getMarginDelta));
+        
+        return new SimulationResponse(items, model.getBuiltAt(), (System.nanoTime() - start) / 1_000);
+    }
+    
+    // Each axis moves one ingredient across its range while every other price stays at the snapshot value.
+    // Scenarios are independent and only touch the items using the swept ingredient, directly or through preps, so
+    // they run in parallel.
+    @Override
+    public SweepResponse sweep(SweepRequest request) {
+        if (request.getMarginThreshold() == null) {
+            throw new BadRequestException("Margin threshold is required");
+        }
+        if (request.getAxes() == null || request.getAxes().isEmpty()) {
+            throw new BadRequestException("At least one sweep axis is required");
+        }
+        int scenarioCount = 0;
+        for (SweepAxis axis : request.getAxes()) {
+            validateAxis(axis);
+            scenarioCount += axis.getPoints();
+        }
+        if (scenarioCount > MAX_SWEEP_SCENARIOS) {
+            throw new BadRequestException("A sweep may evaluate at most " + MAX_SWEEP_SCENARIOS + " scenarios");
+        }
+        
+        MenuCostModel model = menuCostModelProvider.getModel();
+        List<SweepAxis> axes = request.getAxes();
+        Map<Long, Double> outsideCosts = costsOutsideModel(model, axes.stream().map(SweepAxis::getIngredientId).toList());
+        long start = System.nanoTime();
+        double threshold = request.getMarginThreshold();
+        PrepCostGraph graph = new PrepCostGraph(model.getPrepEdges());
+        
+        AxisUsage[] usages = new AxisUsage[axes.size()];
+        int[] axisOf = new int[scenarioCount];
+        int[] pointOf = new int[scenarioCount];
+        int scenario = 0;
+        for (int a = 0; a < usages.length; a++) {
+            Long ingredientId = axes.get(a).getIngredientId();
+            usages[a] = AxisUsage.of(model, currentCost(model, outsideCosts, ingredientId),
+                quantitiesByItem(model, graph, ingredientId), threshold);
+            for (int p = 0; p < axes.get(a).getPoints(); p++, scenario++) {
+                axisOf[scenario] = a;
+                pointOf[scenario] = p;
+            }
+        }
+        
+        List<SweepPoint> points = sweepPool.submit(() -> IntStream.range(0, axisOf.length).parallel()
+            .mapToObj(s -> evaluatePoint(model, axes.get(axisOf[s]), usages[axisOf[s]], pointOf[s], threshold))
+            .toList()).join();
+        
+        List<SweepAxisResult> results = new ArrayList<>(usages.length);
+        int offset = 0;
+        for (int a = 0; a < usages.length; a++) {
+            int count = axes.get(a).getPoints();
+            results.add(new SweepAxisResult(axes.get(a).getIngredientId(), usages[a].currentCost,
+                usages[a].priceCeiling(model, threshold), points.subList(offset, offset + count)));
+            offset += count;
+        }
+        return new SweepResponse(threshold, scenarioCount, results, model.getBuiltAt(), (System.nanoTime() - start) / 1_000);
+    }
+    
+    private static SweepPoint evaluatePoint(MenuCostModel model, SweepAxis axis, AxisUsage usage, int point, double threshold) {
+        double percentChange = axis.getPoints() == 1 ? axis.getFromPercentChange()
+            : axis.getFromPercentChange() + (axis.getToPercentChange() - axis.getFromPercentChange()) * point / (axis.getPoints() - 1);
+        double cost = usage.currentCost * (1 + percentChange / 100);
+        double priceDelta = cost - usage.currentCost;
+        
+        List<Long> crossing = new ArrayList<>();
+        for (int k = 0; k < usage.items.length; k++) {
+            int item = usage.items[k];
+            double simulatedCost = model.baseCost(item) + usage.quantities[k] * priceDelta;
+            if (MenuCostModel.margin(model.sellingPrice(item), simulatedCost) < threshold) {
+                crossing.add(model.menuItemId(item));
+            }
+        }
+        return new SweepPoint(percentChange, cost, crossing);
+    }
+    
+    private static void validateAxis(SweepAxis axis) {
+        if (axis.getIngredientId() == null) {
+            throw new BadRequestException("Ingredient id is required for every sweep axis");
+        }
+        if (axis.getFromPercentChange() == null || axis.getToPercentChange() == null) {
+            throw new BadRequestException("Percent change range is required for ingredient " + axis.getIngredientId());
+        }
+        if (axis.getFromPercentChange() <= -100 || axis.getToPercentChange() <= -100) {
+            throw new BadRequestException("Percent change must be greater than -100");
+        }
+        if (axis.getPoints() == null || axis.getPoints() < 1 || axis.getPoints() > MAX_SWEEP_POINTS_PER_AXIS) {
+            throw new BadRequestException("Points must be between 1 and " + MAX_SWEEP_POINTS_PER_AXIS);
+        }
+    }
+    
+    // Quantity of the ingredient per menu item, on its own recipe lines and inside every prep that uses it
+    private static Map<Integer, Double> quantitiesByItem(MenuCostModel model, PrepCostGraph graph, Long ingredientId) {
+        Map<Integer, Double> quantities = new HashMap<>();
+        graph.sensitivities(ingredientId, model.getPrepYields()).forEach((id, perUnit) -> {
+            int ingredient = model.indexOfIngredient(id);
+            if (ingredient >= 0) {
+                model.quantitiesByItem(ingredient).forEach((item, quantity) -> quantities.merge(item, quantity * perUnit, Double::sum));
+            }
+        });
+        return quantities;
+    }
+    
+    // Items using the swept ingredient that currently meet the threshold, i.e. the only ones that can cross it
+    private record AxisUsage(double currentCost, int[] items, double[] quantities) {
+        
+        static AxisUsage of(MenuCostModel model, double currentCost, Map<Integer, Double> quantitiesByItem, double threshold) {
+            int[] items = new int[quantitiesByItem.size()];
+            double[] quantities = new double[items.length];
+            int count = 0;
+            for (Map.Entry<Integer, Double> usage : quantitiesByItem.entrySet()) {
+                int item = usage.getKey();
+                if (usage.getValue() > 0 && MenuCostModel.margin(model.sellingPrice(item), model.baseCost(item)) >= threshold) {
+                    items[count] = item;
+                    quantities[count++] = usage.getValue();
+                }
+            }
+            return new AxisUsage(currentCost, Arrays.copyOf(items, count), Arrays.copyOf(quantities, count));
+        }
+        
+        // Highest cost per unit at which every such item still meets the threshold; null when nothing can cross
+        Double priceCeiling(MenuCostModel model, double threshold) {
+            if (items.length == 0) {
+                return null;
+            }
+            double ceiling = Double.MAX_VALUE;
+            for (int k = 0; k < items.length; k++) {
+                double maxCost = model.sellingPrice(items[k]) * (1 - threshold / 100);
+                ceiling = Math.min(ceiling, currentCost + (maxCost - model.baseCost(items[k])) / quantities[k]);
+            }
+            return Math.floor(ceiling * 10_000) / 10_000;
+        }
+    }
+    
+    // The model only holds ingredients used by active recipes or preps. Others must still exist; their stored cost is
+    // returned.
+    private Map<Long, Double> costsOutsideModel(MenuCostModel model, Collection<Long> ingredientIds) {
+        Set<Long> missing = new HashSet<>();
+        for (Long ingredientId : ingredientIds) {
+            if (model.currentCost(ingredientId) == null) {
+                missing.add(ingredientId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Double> costs = new HashMap<>();
+        ingredientRepository.findAllById(missing).forEach(ingredient -> {
+            costs.put(ingredient.getId(), ingredient.getCostPerUnit().doubleValue());
+            missing.remove(ingredient.getId());
+        });
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Ingredient not found: " + missing);
+        }
+        return costs;
+    }
+    
+    private static double currentCost(MenuCostModel model, Map<Long, Double> outsideCosts, Long ingredientId) {
+        Double cost = model.currentCost(ingredientId);
+        return cost != null ? cost : outsideCosts.get(ingredientId);
+    }
+    
+    private static void validatePriceChange(PriceChange change) {
+        if (change.getIngredientId() == null) {
+            throw new BadRequestException("Ingredient id is required for every price change");
+        }
+        if ((change.getPercentChange() == null) == (change.getNewCostPerUnit() == null)) {
+            throw new BadRequestException("Specify either percentChange or newCostPerUnit for ingredient " + change.getIngredientId());
+        }
+        if (change.getNewCostPerUnit() != null) {
+            if (change.getNewCostPerUnit().signum() <= 0) {
+                throw new BadRequestException("Cost per unit must be greater than 0");
+            }
+        } else if (change.getPercentChange() <= -100) {
+            throw new BadRequestException("Percent change must be greater than -100");
+        }
+    }
+    
+    private static double newCost(PriceChange change, double currentCost) {
+        return change.getNewCostPerUnit() != null ? change.getNewCostPerUnit().doubleValue()
+            : currentCost * (1 + change.getPercentChange() / 100);
+    }
+}
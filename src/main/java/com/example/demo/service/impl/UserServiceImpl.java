@@ -3,24 +3,37 @@ package com.example.demo.service.impl;
 import com.example.demo.dto.RegisterRequest;
 import com.example.demo.entity.User;
 import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.TokenRevocationRegistry;
 import com.example.demo.service.UserService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.util.Set;
 
 @Service
 public class UserServiceImpl implements UserService {
     
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final Set<String> ROLES = Set.of(DEFAULT_ROLE, "ROLE_ADMIN");
+    
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry revocationRegistry;
     
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           TokenRevocationRegistry revocationRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.revocationRegistry = revocationRegistry;
     }
     
+    // Public, so every account starts as a plain user; only an admin can grant another role
     @Override
     public User register(RegisterRequest request) {
+        if (request.getRole() != null && !DEFAULT_ROLE.equals(request.getRole())) {
+            throw new BadRequestException("A role cannot be chosen at registration");
+        }
         if (userRepository.findByEmailIgnoreCase(request.getEmail()).isPresent()) {
             throw new BadRequestException("Email already in use");
         }
@@ -29,7 +42,7 @@ public class UserServiceImpl implements UserService {
         user.setFullName(request.getFullName());
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setRole(request.getRole() != null ? request.getRole() : "ROLE_USER");
+        user.setRole(DEFAULT_ROLE);
         user.setActive(true);
         
         return userRepository.save(user);
@@ -39,4 +52,33 @@ public class UserServiceImpl implements UserService {
     public User findByEmailIgnoreCase(String email) {
         return userRepository.findByEmailIgnoreCase(email).orElse(null);
     }
+    
+    @Override
+    public User changeRole(Long id, String role) {
+        if (role == null || !ROLES.contains(role)) {
+            throw new BadRequestException("Role must be one of " + ROLES);
+        }
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        user.setRole(role);
+        // Issued tokens carry the old role in their claims
+        return revokeTokens(user);
+    }
+    
+    @Override
+    public void deactivateUser(Long id) {
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        user.setActive(false);
+        // Tokens already issued to this user must not keep authenticating through their claims
+        revokeTokens(user);
+    }
+    
+    private User revokeTokens(User user) {
+        long tokenVersion = (user.getTokenVersion() != null ? user.getTokenVersion() : 0L) + 1;
+        user.setTokenVersion(tokenVersion);
+        User saved = userRepository.save(user);
+        revocationRegistry.revokeBefore(saved.getId(), tokenVersion);
+        return saved;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.example.demo.simulation;
+
+import com.example.demo.repository.projection.MenuItemPrice;
+import com.example.demo.repository.projection.PrepEdge;
+import com.example.demo.repository.projection.RecipeCostLine;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable, array-based snapshot of active menu items and their recipes for in-memory what-if evaluation.
+// Recipe lines are stored per ingredient in compressed sparse row form, so a price change only visits
+// the lines that use the ingredient. Prep components are kept as edges, so a change to a raw ingredient can be
+// rolled up through the preps that use it before it is applied to the recipe lines.
+public final class MenuCostModel {
+    
+    private final long[] menuItemIds;
+    private final String[] menuItemNames;
+    private final double[] sellingPrices;
+    private final double[] baseCosts;
+    
+    private final Map<Long, Integer> ingredientIndex;
+    private final long[] ingredientIds;
+    private final double[] ingredientCosts;
+    
+    // Lines of ingredient i are usageItems/usageQuantities[usageOffsets[i] .. usageOffsets[i + 1])
+    private final int[] usageOffsets;
+    private final int[] usageItems;
+    private final double[] usageQuantities;
+    
+    private final List<PrepEdge> prepEdges;
+    private final Map<Long, Double> prepYields;
+    // Stored cost of every prep component, including raw ingredients no recipe uses directly
+    private final Map<Long, Double> componentCosts;
+    
+    private final LocalDateTime builtAt;
+    
+    private MenuCostModel(long[] menuItemIds, String[] menuItemNames, double[] sellingPrices, double[] baseCosts,
+                          Map<Long, Integer> ingredientIndex, long[] ingredientIds, double[] ingredientCosts,
+                          int[] usageOffsets, int[] usageItems, double[] usageQuantities,
+                          List<PrepEdge> prepEdges, Map<Long, Double> prepYields) {
+        this.menuItemIds = menuItemIds;
+        this.menuItemNames = menuItemNames;
+        this.sellingPrices = sellingPrices;
+        this.baseCosts = baseCosts;
+        this.ingredientIndex = ingredientIndex;
+        this.ingredientIds = ingredientIds;
+        this.ingredientCosts = ingredientCosts;
+        this.usageOffsets = usageOffsets;
+        this.usageItems = usageItems;
+        this.usageQuantities = usageQuantities;
+        this.prepEdges = List.copyOf(prepEdges);
+        this.prepYields = Map.copyOf(prepYields);
+        this.componentCosts = new HashMap<>();
+        prepEdges.forEach(edge -> componentCosts.put(edge.getComponentId(), edge.getComponentCost().doubleValue()));
+        this.builtAt = LocalDateTime.now();
+    }
+    
+    public static MenuCostModel build(List<MenuItemPrice> menuItems, List<RecipeCostLine> lines,
+                                      List<PrepEdge> prepEdges, Map<Long, Double> prepYields) {
+        int itemCount = menuItems.size();
+        long[] menuItemIds = new long[itemCount];
+        String[] menuItemNames = new String[itemCount];
+        double[] sellingPrices = new double[itemCount];
+        Map<Long, Integer> menuItemIndex = new HashMap<>(itemCount * 2);
+        for (int i = 0; i < itemCount; i++) {
+            MenuItemPrice item = menuItems.get(i);
+            menuItemIds[i] = item.getId();
+            menuItemNames[i] = item.getName();
+            sellingPrices[i] = item.getSellingPrice().doubleValue();
+            menuItemIndex.put(item.getId(), i);
+        }
+        
+        // First pass: index ingredients and count their lines
+        Map<Long, Integer> ingredientIndex = new HashMap<>();
+        int[] lineItems = new int[lines.size()];
+        int[] lineIngredients = new int[lines.size()];
+        double[] lineQuantities = new double[lines.size()];
+        double[] costs = new double[Math.max(16, lines.size())];
+        int[] counts = new int[costs.length];
+        int lineCount = 0;
+        for (RecipeCostLine line : lines) {
+            Integer item = menuItemIndex.get(line.getMenuItemId());
+            if (item == null) {
+                continue;
+            }
+            int ingredient = ingredientIndex.computeIfAbsent(line.getIngredientId(), id -> ingredientIndex.size());
+            costs[ingredient] = line.getCostPerUnit().doubleValue();
+            counts[ingredient]++;
+            lineItems[lineCount] = item;
+            lineIngredients[lineCount] = ingredient;
+            lineQuantities[lineCount] = line.getQuantity();
+            lineCount++;
+        }
+        
+        int ingredientCount = ingredientIndex.size();
+        long[] ingredientIds = new long[ingredientCount];
+        ingredientIndex.forEach((id, index) -> ingredientIds[index] = id);
+        double[] ingredientCosts = new double[ingredientCount];
+        System.arraycopy(costs, 0, ingredientCosts, 0, ingredientCount);
+        
+        int[] usageOffsets = new int[ingredientCount + 1];
+        for (int i = 0; i < ingredientCount; i++) {
+            usageOffsets[i + 1] = usageOffsets[i] + counts[i];
+        }
+        
+        // Second pass: scatter lines into their ingredient's row and total the baseline cost per item
+        int[] cursor = new int[ingredientCount];
+        System.arraycopy(usageOffsets, 0, cursor, 0, ingredientCount);
+        int[] usageItems = new int[lineCount];
+        double[] usageQuantities = new double[lineCount];
+        double[] baseCosts = new double[itemCount];
+        for (int line = 0; line < lineCount; line++) {
+            int item = lineItems[line];
+            int ingredient = lineIngredients[line];
+            int slot = cursor[ingredient]++;
+            usageItems[slot] = item;
+            usageQuantities[slot] = lineQuantities[line];
+            baseCosts[item] += ingredientCosts[ingredient] * lineQuantities[line];
+        }
+        
+        return new MenuCostModel(menuItemIds, menuItemNames, sellingPrices, baseCosts,
+            ingredientIndex, ingredientIds, ingredientCosts, usageOffsets, usageItems, usageQuantities, prepEdges, prepYields);
+    }
+    
+    // Adds quantity * (newCost - currentCost) to every item using the ingredient and marks those items
+    public void addCostDeltas(int ingredient, double newCost, double[] costDeltas, BitSet affected) {
+        double priceDelta = newCost - ingredientCosts[ingredient];
+        for (int k = usageOffsets[ingredient]; k < usageOffsets[ingredient + 1]; k++) {
+            int item = usageItems[k];
+            costDeltas[item] += usageQuantities[k] * priceDelta;
+            affected.set(item);
+        }
+    }
+    
+    // Total quantity of the ingredient per menu item, merging items that list it on several lines
+    public Map<Integer, Double> quantitiesByItem(int ingredient) {
+        Map<Integer, Double> quantities = new HashMap<>();
+        for (int k = usageOffsets[ingredient]; k < usageOffsets[ingredient + 1]; k++) {
+            quantities.merge(usageItems[k], usageQuantities[k], Double::sum);
+        }
+        return quantities;
+    }
+    
+    // Same rounding as the persisted margin: ratio to 4 places, expressed as a percentage
+    public static double margin(double sellingPrice, double cost) {
+        return Math.round((sellingPrice - cost) / sellingPrice * 10_000) / 100.0;
+    }
+    
+    public int indexOfIngredient(Long ingredientId) {
+        Integer index = ingredientIndex.get(ingredientId);
+        return index == null ? -1 : index;
+    }
+    
+    // Stored cost per unit of an ingredient used by a recipe or a prep; null when neither uses it
+    public Double currentCost(Long ingredientId) {
+        int index = indexOfIngredient(ingredientId);
+        return index >= 0 ? ingredientCosts[index] : componentCosts.get(ingredientId);
+    }
+    
+    public List<PrepEdge> getPrepEdges() {
+        return prepEdges;
+    }
+    
+    public Map<Long, Double> getPrepYields() {
+        return prepYields;
+    }
+    
+    public int menuItemCount() {
+        return menuItemIds.length;
+    }
+    
+    public int ingredientCount() {
+        return ingredientIds.length;
+    }
+    
+    public long menuItemId(int item) {
+        return menuItemIds[item];
+    }
+    
+    public String menuItemName(int item) {
+        return menuItemNames[item];
+    }
+    
+    public double sellingPrice(int item) {
+        return sellingPrices[item];
+    }
+    
+    public double baseCost(int item) {
+        return baseCosts[item];
+    }
+    
+    public long ingredientId(int ingredient) {
+        return ingredientIds[ingredient];
+    }
+    
+    public double ingredientCost(int ingredient) {
+        return ingredientCosts[ingredient];
+    }
+    
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.simulation;
+
+import com.example.demo.entity.Ingredient;
+import com.example.demo.repository.IngredientRepository;
+import com.example.demo.repository.MenuItemRepository;
+import com.example.demo.repository.PrepComponentRepository;
+import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.service.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Hands out the current MenuCostModel, rebuilding it when it was invalidated by a cost change or is older than the TTL
+@Component
+public class MenuCostModelProvider {
+    
+    private final MenuItemRepository menuItemRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final PrepComponentRepository prepComponentRepository;
+    private final IngredientRepository ingredientRepository;
+    private final long ttlNanos;
+    
+    private volatile MenuCostModel model;
+    private volatile long builtAtNanos;
+    private volatile boolean stale = true;
+    
+    public MenuCostModelProvider(MenuItemRepository menuItemRepository,
+                                 RecipeIngredientRepository recipeIngredientRepository,
+                                 PrepComponentRepository prepComponentRepository,
+                                 IngredientRepository ingredientRepository,
+                                 @Value("${app.simulation.snapshot-ttl:1m}") Duration ttl) {
+        this.menuItemRepository = menuItemRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.prepComponentRepository = prepComponentRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+    
+    public MenuCostModel getModel() {
+        if (needsRebuild()) {
+            synchronized (this) {
+                if (needsRebuild()) {
+                    // Cleared before loading, so an invalidation that races the load triggers another rebuild
+                    stale = false;
+                    builtAtNanos = System.nanoTime();
+                    try {
+                        Map<Long, Double> prepYields = ingredientRepository.findByPrepTrue().stream()
+                            .collect(Collectors.toMap(Ingredient::getId, Ingredient::getYieldQuantity));
+                        model = MenuCostModel.build(menuItemRepository.findActivePrices(),
+                            recipeIngredientRepository.findCostLinesForActiveMenuItems(),
+                            prepComponentRepository.findAllEdges(), prepYields);
+                    } catch (RuntimeException e) {
+                        stale = true;
+                        throw e;
+                    }
+                }
+            }
+        }
+        return model;
+    }
+    
+    // Inside a transaction the snapshot is only marked stale once the change is committed
+    public void invalidate() {
+        AfterCommit.run(() -> stale = true);
+    }
+    
+    private boolean needsRebuild() {
+        return stale || model == null || System.nanoTime() - builtAtNanos > ttlNanos;
+    }
+}
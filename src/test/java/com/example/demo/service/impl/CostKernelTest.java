@@ -0,0 +1,143 @@
+package com.example.demo.service.impl;
+
+import org.testng.annotations.Test;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+// Checks the scaled-long kernel against the BigDecimal arithmetic it replaces, including scales and fallbacks
+public class CostKernelTest {
+    
+    private static final int RECIPES = 20_000;
+    
+    @Test
+    public void randomRecipesMatchBigDecimalTotalsAndMargins() {
+        Random random = new Random(42);
+        for (int recipe = 0; recipe < RECIPES; recipe++) {
+            int lines = 1 + random.nextInt(20);
+            List<BigDecimal> costs = new ArrayList<>(lines);
+            List<Double> quantities = new ArrayList<>(lines);
+            for (int i = 0; i < lines; i++) {
+                costs.add(randomCost(random));
+                quantities.add(randomQuantity(random));
+            }
+            BigDecimal sellingPrice = randomCost(random).add(BigDecimal.ONE);
+            assertMatchesReference(costs, quantities, sellingPrice);
+        }
+    }
+    
+    @Test
+    public void valuesOutsideTheMicroRangeAreNotRepresentable() {
+        assertEquals(CostKernel.toMicros(new BigDecimal("1.2345678")), CostKernel.NOT_REPRESENTABLE);
+        assertEquals(CostKernel.toMicros(new BigDecimal("1234567890.5")), CostKernel.NOT_REPRESENTABLE);
+        assertEquals(CostKernel.toMicros(new BigDecimal("1E+3")), CostKernel.NOT_REPRESENTABLE);
+        assertEquals(CostKernel.toMicros(new BigDecimal("999999999.999999")), 999_999_999_999_999L);
+        
+        assertEquals(CostKernel.quantityToMicros(0.0001), CostKernel.NOT_REPRESENTABLE);
+        assertEquals(CostKernel.quantityToMicros(1e7), CostKernel.NOT_REPRESENTABLE);
+        assertEquals(CostKernel.quantityToMicros(0.1234567), CostKernel.NOT_REPRESENTABLE);
+        assertEquals(CostKernel.quantityToMicros(0.0), 0L);
+        assertEquals(CostKernel.quantityToMicros(2.5), 2_500_000L);
+        assertEquals(CostKernel.quantityToMicros(-0.25), -250_000L);
+    }
+    
+    @Test
+    public void quantityScaleMatchesBigDecimalValueOf() {
+        assertEquals(CostKernel.quantityScale(2_000_000L), 1);
+        assertEquals(CostKernel.quantityScale(2_500_000L), 1);
+        assertEquals(CostKernel.quantityScale(2_250_000L), 2);
+        assertEquals(CostKernel.quantityScale(1L), 6);
+        assertEquals(CostKernel.quantityScale(0L), 1);
+        
+        Random random = new Random(7);
+        for (int i = 0; i < RECIPES; i++) {
+            double quantity = randomQuantity(random);
+            long micros = CostKernel.quantityToMicros(quantity);
+            if (micros != CostKernel.NOT_REPRESENTABLE) {
+                assertEquals(CostKernel.quantityScale(micros), BigDecimal.valueOf(quantity).scale(), "quantity " + quantity);
+            }
+        }
+    }
+    
+    @Test
+    public void unrepresentableLinesFallBackToBigDecimal() {
+        // More decimals than the kernel keeps, on either side of the line
+        assertMatchesReference(List.of(new BigDecimal("1.50"), new BigDecimal("0.1234567")), List.of(2.0, 3.0),
+            new BigDecimal("10.00"));
+        assertMatchesReference(List.of(new BigDecimal("1.50"), new BigDecimal("2.25")), List.of(0.5, 0.12345678),
+            new BigDecimal("10.00"));
+        // Arbitrary binary fractions whose shortest decimal is long
+        assertMatchesReference(List.of(new BigDecimal("3.10")), List.of(1.0 / 3), new BigDecimal("5.00"));
+    }
+    
+    @Test
+    public void overflowFallsBackToBigDecimal() {
+        BigDecimal largeCost = new BigDecimal("999999999.999999");
+        // 10^15 micro-units times ~10^13 micro-units overflows a long on the first line
+        assertMatchesReference(List.of(largeCost), List.of(9_999_999.5), new BigDecimal("999999999.99"));
+        // Each line fits but the running total does not
+        List<BigDecimal> costs = new ArrayList<>();
+        List<Double> quantities = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            costs.add(largeCost);
+            quantities.add(999_999.5);
+        }
+        assertMatchesReference(costs, quantities, largeCost);
+        // Totals that fit but whose margin arithmetic overflows
+        assertEquals(CostKernel.profitMargin(largeCost, new BigDecimal("1.000001")),
+            referenceMargin(largeCost, new BigDecimal("1.000001")));
+    }
+    
+    @Test
+    public void marginTiesRoundHalfUp() {
+        // (8 - 7.0124) / 8 = 0.12345 exactly, and -0.12345 for a cost of 8.9876
+        assertEquals(CostKernel.profitMargin(new BigDecimal("8.00"), new BigDecimal("7.0124")), 12.35);
+        assertEquals(CostKernel.profitMargin(new BigDecimal("8.00"), new BigDecimal("8.9876")), -12.35);
+        assertMatchesReference(List.of(new BigDecimal("7.0124")), List.of(1.0), new BigDecimal("8.00"));
+        assertMatchesReference(List.of(new BigDecimal("3.5062")), List.of(2.0), new BigDecimal("8"));
+        assertMatchesReference(List.of(new BigDecimal("8.9876")), List.of(1.0), new BigDecimal("8.00"));
+    }
+    
+    private static void assertMatchesReference(List<BigDecimal> costs, List<Double> quantities, BigDecimal sellingPrice) {
+        CostKernel.Accumulator accumulator = new CostKernel.Accumulator();
+        BigDecimal reference = BigDecimal.ZERO;
+        for (int i = 0; i < costs.size(); i++) {
+            accumulator.add(costs.get(i), quantities.get(i));
+            reference = reference.add(costs.get(i).multiply(BigDecimal.valueOf(quantities.get(i))));
+        }
+        String context = "costs " + costs + ", quantities " + quantities + ", price " + sellingPrice;
+        // equals, not compareTo: the scale of the total must match as well
+        assertEquals(accumulator.total(), reference, context);
+        assertEquals(accumulator.profitMargin(sellingPrice), referenceMargin(sellingPrice, reference), context);
+        assertEquals(CostKernel.profitMargin(sellingPrice, reference), referenceMargin(sellingPrice, reference), context);
+    }
+    
+    private static Double referenceMargin(BigDecimal sellingPrice, BigDecimal totalCost) {
+        return sellingPrice.subtract(totalCost).divide(sellingPrice, 4, RoundingMode.HALF_UP)
+            .multiply(BigDecimal.valueOf(100)).doubleValue();
+    }
+    
+    // Mostly ordinary prices, with some beyond the kernel's scale or magnitude
+    private static BigDecimal randomCost(Random random) {
+        return switch (random.nextInt(10)) {
+            case 0 -> BigDecimal.valueOf(random.nextLong(1, 1_000_000_000_000L), 7 + random.nextInt(3));
+            case 1 -> BigDecimal.valueOf(random.nextLong(1, Long.MAX_VALUE), random.nextInt(7));
+            default -> BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), random.nextInt(7));
+        };
+    }
+    
+    // Mostly decimal quantities as entered, with some arbitrary doubles, tiny and huge values
+    private static double randomQuantity(Random random) {
+        return switch (random.nextInt(10)) {
+            case 0 -> random.nextDouble() * 1000;
+            case 1 -> random.nextDouble() * 1e-3;
+            case 2 -> random.nextDouble() * 1e9;
+            case 3 -> random.nextInt(1000);
+            default -> random.nextInt(1_000_000) / Math.pow(10, random.nextInt(7));
+        };
+    }
+}
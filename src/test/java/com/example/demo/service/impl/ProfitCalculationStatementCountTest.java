@@ -0,0 +1,145 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.MenuItem;
+import com.example.demo.entity.ProfitCalculationRecord;
+import com.example.demo.entity.RecipeIngredient;
+import com.example.demo.repository.IngredientRepository;
+import com.example.demo.repository.MenuItemRepository;
+import com.example.demo.repository.MenuItemRepositoryCustomImpl;
+import com.example.demo.repository.ProfitCalculationRecordRepository;
+import com.example.demo.repository.RecipeIngredientRepository;
+import com.example.demo.repository.RecipeIngredientRepositoryCustomImpl;
+import com.example.demo.service.MenuItemCostService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+// Counts the JDBC statements the profit path issues against an in-memory H2 schema built from the entities
+public class ProfitCalculationStatementCountTest {
+    
+    private static final int RECIPE_SIZE = 5;
+    
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private MenuItemRepository menuItemRepository;
+    private RecipeIngredientRepository recipeIngredientRepository;
+    private Long menuItemId;
+    
+    @BeforeClass
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:statement-count;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.example.demo.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+            "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+            "hibernate.hbm2ddl.auto", "create-drop",
+            "hibernate.generate_statistics", "true"));
+        factoryBean.afterPropertiesSet();
+        
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager = entityManagerFactory.createEntityManager();
+        
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        menuItemRepository = repositoryFactory.getRepository(MenuItemRepository.class,
+            RepositoryFragments.just(new MenuItemRepositoryCustomImpl(500)));
+        recipeIngredientRepository = repositoryFactory.getRepository(RecipeIngredientRepository.class,
+            RepositoryFragments.just(new RecipeIngredientRepositoryCustomImpl(500)));
+        
+        seed();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        entityManager.close();
+        factoryBean.destroy();
+    }
+    
+    @BeforeMethod
+    public void resetStatistics() {
+        entityManager.clear();
+        statistics.clear();
+    }
+    
+    @Test
+    public void costLinesOfOneMenuItemAreOneStatement() {
+        assertEquals(recipeIngredientRepository.findCostLinesByMenuItemId(menuItemId).size(), RECIPE_SIZE);
+        assertEquals(statistics.getPrepareStatementCount(), 1);
+    }
+    
+    @Test
+    public void recipeWithIngredientAndMenuItemIsOneStatement() {
+        List<RecipeIngredient> recipe = recipeIngredientRepository.findWithIngredientAndMenuItemByMenuItemId(menuItemId);
+        recipe.forEach(line -> {
+            line.getIngredient().getCostPerUnit();
+            line.getMenuItem().getCategories().size();
+        });
+        assertEquals(recipe.size(), RECIPE_SIZE);
+        assertEquals(statistics.getPrepareStatementCount(), 1);
+    }
+    
+    // The menu item with its categories, then the cost lines
+    @Test
+    public void calculateProfitIsTwoStatements() {
+        ProfitCalculationRecord record = newService().calculateProfit(menuItemId);
+        
+        assertEquals(record.getTotalCost().compareTo(new BigDecimal("2.50")), 0);
+        assertEquals(statistics.getPrepareStatementCount(), 2);
+    }
+    
+    // History writes are handed to the (mocked) write-behind buffer, so only reads reach the database
+    private ProfitCalculationServiceImpl newService() {
+        ProfitRecordWriteBehindBuffer writeBehindBuffer = mock(ProfitRecordWriteBehindBuffer.class);
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        return new ProfitCalculationServiceImpl(menuItemRepository, recipeIngredientRepository,
+            mock(IngredientRepository.class), mock(ProfitCalculationRecordRepository.class),
+            mock(MenuItemCostService.class), writeBehindBuffer);
+    }
+    
+    private void seed() {
+        entityManager.getTransaction().begin();
+        MenuItem menuItem = new MenuItem();
+        menuItem.setName("Burger");
+        menuItem.setSellingPrice(new BigDecimal("10.00"));
+        entityManager.persist(menuItem);
+        for (int i = 0; i < RECIPE_SIZE; i++) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName("Ingredient " + i);
+            ingredient.setUnit("kg");
+            ingredient.setCostPerUnit(new BigDecimal("1.00"));
+            entityManager.persist(ingredient);
+            
+            RecipeIngredient line = new RecipeIngredient();
+            line.setMenuItem(menuItem);
+            line.setIngredient(ingredient);
+            line.setQuantity(0.5);
+            entityManager.persist(line);
+        }
+        entityManager.getTransaction().commit();
+        menuItemId = menuItem.getId();
+    }
+}